@@ -1,6 +1,7 @@
 plugins {
     id("java")
     `maven-publish`
+    id("me.champeau.jmh") version "0.7.1"
 }
 
 group = "eu.cafestube.cloudnet"
@@ -41,4 +42,9 @@ publishing {
 
 tasks.test {
     useJUnitPlatform()
+}
+
+jmh {
+    jmhVersion.set("1.36")
+    resultFormat.set("JSON")
 }
\ No newline at end of file
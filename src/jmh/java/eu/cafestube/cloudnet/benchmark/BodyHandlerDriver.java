@@ -0,0 +1,55 @@
+package eu.cafestube.cloudnet.benchmark;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+
+/**
+ * Feeds a complete body through a {@link HttpResponse.BodyHandler} the same way the HttpClient does, minus the
+ * network, so the handlers can be measured in isolation.
+ */
+final class BodyHandlerDriver {
+
+    private static final HttpResponse.ResponseInfo OK = new HttpResponse.ResponseInfo() {
+        @Override
+        public int statusCode() {
+            return 200;
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return HttpHeaders.of(Map.of(), (name, value) -> true);
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return HttpClient.Version.HTTP_1_1;
+        }
+    };
+
+    private static final Flow.Subscription UNBOUNDED = new Flow.Subscription() {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    };
+
+    private BodyHandlerDriver() {
+    }
+
+    static <T> T drive(HttpResponse.BodyHandler<T> handler, byte[] body) {
+        HttpResponse.BodySubscriber<T> subscriber = handler.apply(OK);
+        subscriber.onSubscribe(UNBOUNDED);
+        subscriber.onNext(List.of(ByteBuffer.wrap(body)));
+        subscriber.onComplete();
+        return subscriber.getBody().toCompletableFuture().join();
+    }
+
+}
@@ -0,0 +1,74 @@
+package eu.cafestube.cloudnet.benchmark;
+
+import eu.cafestube.cloudnet.compact.CompactServiceSnapshots;
+import eu.cafestube.cloudnet.json.CloudNetGson;
+import eu.cafestube.cloudnet.service.status.ServiceInfoSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares scanning a list of snapshot records with scanning their compact encoding through a flyweight.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompactSnapshotBenchmark {
+
+    @Param({"1000", "10000"})
+    public int services;
+
+    @Param({"false", "true"})
+    public boolean direct;
+
+    private List<ServiceInfoSnapshot> snapshots;
+    private CompactServiceSnapshots compact;
+
+    @Setup
+    public void setup() {
+        this.snapshots = new ArrayList<>(this.services);
+        for (int i = 0; i < this.services; i++) {
+            this.snapshots.add(CloudNetGson.create().fromJson(
+                    Payloads.serviceInfoSnapshot(UUID.randomUUID(), "Lobby", i, 32), ServiceInfoSnapshot.class));
+        }
+        this.compact = CompactServiceSnapshots.of(this.snapshots, this.direct);
+    }
+
+    @Benchmark
+    public double scanRecords() {
+        double total = 0;
+        for (ServiceInfoSnapshot snapshot : this.snapshots) {
+            total += snapshot.processSnapshot().cpuUsage();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double scanCompact() {
+        double[] total = {0};
+        this.compact.forEach(view -> total[0] += view.cpuUsage());
+        return total[0];
+    }
+
+    @Benchmark
+    public CompactServiceSnapshots encode() {
+        return CompactServiceSnapshots.of(this.snapshots, this.direct);
+    }
+
+}
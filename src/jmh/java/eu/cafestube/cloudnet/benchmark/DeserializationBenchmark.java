@@ -0,0 +1,112 @@
+package eu.cafestube.cloudnet.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import eu.cafestube.cloudnet.CloudNetApiClient;
+import eu.cafestube.cloudnet.json.CloudNetGson;
+import eu.cafestube.cloudnet.json.JsonField;
+import eu.cafestube.cloudnet.service.result.ServiceCreateResult;
+import eu.cafestube.cloudnet.service.status.LazyServiceInfoSnapshot;
+import eu.cafestube.cloudnet.service.status.ServiceInfoSnapshot;
+import eu.cafestube.cloudnet.service.status.ServiceProperties;
+import eu.cafestube.cloudnet.task.ServiceTask;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares the buffered tree path ({@code jsonBodyHandler} + {@code Gson.fromJson}) with the streaming field
+ * handlers for the payloads the managers deserialize.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeserializationBenchmark {
+
+    @Param({"16", "256", "2048"})
+    public int threads;
+
+    private final Gson gson = CloudNetGson.create();
+    private final TypeAdapter<ServiceProperties> propertiesAdapter = ServiceProperties.adapter(List.of("Online-Count", "Motd"));
+
+    private byte[] serviceResponse;
+    private byte[] taskResponse;
+    private byte[] createResultResponse;
+
+    @Setup
+    public void setup() {
+        this.serviceResponse = Payloads.serviceResponse(this.threads);
+        this.taskResponse = Payloads.taskResponse();
+        this.createResultResponse = Payloads.createResultResponse(this.threads);
+    }
+
+    @Benchmark
+    public ServiceInfoSnapshot serviceInfoSnapshotTree() {
+        JsonObject data = BodyHandlerDriver.drive(CloudNetApiClient.jsonBodyHandler(), this.serviceResponse);
+        return this.gson.fromJson(data.get("snapshot"), ServiceInfoSnapshot.class);
+    }
+
+    @Benchmark
+    public ServiceInfoSnapshot serviceInfoSnapshotStreaming() {
+        Supplier<JsonField<ServiceInfoSnapshot>> data = BodyHandlerDriver.drive(
+                CloudNetApiClient.jsonFieldBodyHandler(this.gson, "snapshot", ServiceInfoSnapshot.class), this.serviceResponse);
+        return data.get().value();
+    }
+
+    @Benchmark
+    public ServiceProperties servicePropertiesProjection() {
+        Supplier<JsonField<ServiceProperties>> data = BodyHandlerDriver.drive(
+                CloudNetApiClient.jsonFieldBodyHandler(this.gson, "snapshot", this.propertiesAdapter), this.serviceResponse);
+        return data.get().value();
+    }
+
+    @Benchmark
+    public LazyServiceInfoSnapshot serviceInfoSnapshotLazy() {
+        Supplier<JsonField<LazyServiceInfoSnapshot>> data = BodyHandlerDriver.drive(
+                CloudNetApiClient.jsonFieldBodyHandler(this.gson, "snapshot", LazyServiceInfoSnapshot.class), this.serviceResponse);
+        return data.get().value();
+    }
+
+    @Benchmark
+    public ServiceTask serviceTaskTree() {
+        JsonObject data = BodyHandlerDriver.drive(CloudNetApiClient.jsonBodyHandler(), this.taskResponse);
+        return this.gson.fromJson(data.get("task"), ServiceTask.class);
+    }
+
+    @Benchmark
+    public ServiceTask serviceTaskStreaming() {
+        Supplier<JsonField<ServiceTask>> data = BodyHandlerDriver.drive(
+                CloudNetApiClient.jsonFieldBodyHandler(this.gson, "task", ServiceTask.class), this.taskResponse);
+        return data.get().value();
+    }
+
+    @Benchmark
+    public ServiceCreateResult serviceCreateResultTree() {
+        JsonObject data = BodyHandlerDriver.drive(CloudNetApiClient.jsonBodyHandler(), this.createResultResponse);
+        return this.gson.fromJson(data.get("result"), ServiceCreateResult.class);
+    }
+
+    @Benchmark
+    public ServiceCreateResult serviceCreateResultStreaming() {
+        Supplier<JsonField<ServiceCreateResult>> data = BodyHandlerDriver.drive(
+                CloudNetApiClient.jsonFieldBodyHandler(this.gson, "result", ServiceCreateResult.class), this.createResultResponse);
+        return data.get().value();
+    }
+
+}
@@ -0,0 +1,74 @@
+package eu.cafestube.cloudnet.benchmark;
+
+import com.google.gson.Gson;
+import eu.cafestube.cloudnet.json.CloudNetGson;
+import eu.cafestube.cloudnet.service.status.ServiceInfoSnapshot;
+import eu.cafestube.cloudnet.task.ServiceTask;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares Gson's reflective binding with the adapters of {@link CloudNetGson}, both on a shared instance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GsonBindingBenchmark {
+
+    @Param({"reflective", "adapters"})
+    public String binding;
+
+    @Param({"16", "256"})
+    public int threads;
+
+    private Gson gson;
+    private String snapshotJson;
+    private String taskJson;
+    private ServiceInfoSnapshot snapshot;
+    private ServiceTask task;
+
+    @Setup
+    public void setup() {
+        this.gson = this.binding.equals("adapters") ? CloudNetGson.create() : new Gson();
+        this.snapshotJson = Payloads.serviceInfoSnapshot(UUID.randomUUID(), "Lobby", 1, this.threads).toString();
+        this.taskJson = Payloads.serviceTask("Lobby").toString();
+        this.snapshot = this.gson.fromJson(this.snapshotJson, ServiceInfoSnapshot.class);
+        this.task = this.gson.fromJson(this.taskJson, ServiceTask.class);
+    }
+
+    @Benchmark
+    public ServiceInfoSnapshot readServiceInfoSnapshot() {
+        return this.gson.fromJson(this.snapshotJson, ServiceInfoSnapshot.class);
+    }
+
+    @Benchmark
+    public String writeServiceInfoSnapshot() {
+        return this.gson.toJson(this.snapshot);
+    }
+
+    @Benchmark
+    public ServiceTask readServiceTask() {
+        return this.gson.fromJson(this.taskJson, ServiceTask.class);
+    }
+
+    @Benchmark
+    public String writeServiceTask() {
+        return this.gson.toJson(this.task);
+    }
+
+}
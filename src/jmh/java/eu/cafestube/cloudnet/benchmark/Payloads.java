@@ -0,0 +1,198 @@
+package eu.cafestube.cloudnet.benchmark;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Realistic response bodies as the node sends them, the thread count drives the size of the process snapshot.
+ */
+final class Payloads {
+
+    private Payloads() {
+    }
+
+    static byte[] serviceResponse(int threads) {
+        JsonObject response = new JsonObject();
+        response.addProperty("success", true);
+        response.add("snapshot", serviceInfoSnapshot(UUID.randomUUID(), "Lobby", 1, threads));
+        return bytes(response);
+    }
+
+    static byte[] serviceListResponse(int services, int threads) {
+        JsonArray snapshots = new JsonArray();
+        for (int i = 0; i < services; i++) {
+            snapshots.add(serviceInfoSnapshot(UUID.randomUUID(), i % 2 == 0 ? "Lobby" : "Game", i + 1, threads));
+        }
+
+        JsonObject response = new JsonObject();
+        response.addProperty("success", true);
+        response.add("services", snapshots);
+        return bytes(response);
+    }
+
+    static byte[] taskResponse() {
+        JsonObject response = new JsonObject();
+        response.addProperty("success", true);
+        response.add("task", serviceTask("Lobby"));
+        return bytes(response);
+    }
+
+    static byte[] createResultResponse(int threads) {
+        JsonObject result = new JsonObject();
+        result.addProperty("state", "CREATED");
+        result.addProperty("creationId", UUID.randomUUID().toString());
+        result.add("serviceInfo", serviceInfoSnapshot(UUID.randomUUID(), "Lobby", 1, threads));
+
+        JsonObject response = new JsonObject();
+        response.add("result", result);
+        return bytes(response);
+    }
+
+    static byte[] authResponse() {
+        JsonObject response = new JsonObject();
+        response.addProperty("token", "benchmark-token");
+        return bytes(response);
+    }
+
+    static JsonObject serviceInfoSnapshot(UUID uniqueId, String task, int taskServiceId, int threads) {
+        JsonObject snapshot = new JsonObject();
+        snapshot.addProperty("creationTime", System.currentTimeMillis());
+        snapshot.add("address", hostAndPort("10.0.0." + (taskServiceId % 250), 44955 + taskServiceId));
+        snapshot.add("configuration", serviceConfiguration(uniqueId, task, taskServiceId));
+        snapshot.addProperty("connectedTime", System.currentTimeMillis());
+        snapshot.add("processSnapshot", processSnapshot(threads));
+        snapshot.addProperty("lifeCycle", "RUNNING");
+
+        JsonObject properties = new JsonObject();
+        properties.addProperty("Online-Count", 17);
+        properties.addProperty("Max-Players", 100);
+        properties.addProperty("Motd", "A CloudNet service");
+        properties.addProperty("Version", "1.20.1");
+        snapshot.add("properties", properties);
+        return snapshot;
+    }
+
+    static JsonObject processSnapshot(int threads) {
+        JsonObject snapshot = new JsonObject();
+        snapshot.addProperty("pid", 4242);
+        snapshot.addProperty("cpuUsage", 12.5);
+        snapshot.addProperty("systemCpuUsage", 43.1);
+        snapshot.addProperty("maxHeapMemory", 1_073_741_824L);
+        snapshot.addProperty("heapUsageMemory", 536_870_912L);
+        snapshot.addProperty("noHeapUsageMemory", 134_217_728L);
+        snapshot.addProperty("unloadedClassCount", 12);
+        snapshot.addProperty("totalLoadedClassCount", 13_000);
+        snapshot.addProperty("currentLoadedClassCount", 12_988);
+
+        String[] states = {"RUNNABLE", "WAITING", "TIMED_WAITING", "BLOCKED"};
+        JsonArray threadArray = new JsonArray();
+        for (int i = 0; i < threads; i++) {
+            JsonObject thread = new JsonObject();
+            thread.addProperty("id", i + 1);
+            thread.addProperty("priority", 5);
+            thread.addProperty("daemon", i % 3 == 0);
+            thread.addProperty("name", "Server thread pool worker #" + i);
+            thread.addProperty("threadState", states[i % states.length]);
+            threadArray.add(thread);
+        }
+        snapshot.add("threads", threadArray);
+        return snapshot;
+    }
+
+    static JsonObject serviceConfiguration(UUID uniqueId, String task, int taskServiceId) {
+        JsonObject serviceId = new JsonObject();
+        serviceId.addProperty("taskName", task);
+        serviceId.addProperty("nameSplitter", "-");
+        serviceId.add("allowedNodes", strings("Node-1", "Node-2"));
+        serviceId.addProperty("uniqueId", uniqueId.toString());
+        serviceId.addProperty("taskServiceId", taskServiceId);
+        serviceId.addProperty("nodeUniqueId", "Node-1");
+        serviceId.addProperty("environmentName", "MINECRAFT_SERVER");
+
+        JsonObject configuration = new JsonObject();
+        configuration.add("serviceId", serviceId);
+        configuration.add("processConfig", processConfiguration());
+        configuration.addProperty("port", 44955 + taskServiceId);
+        configuration.addProperty("runtime", "jvm");
+        configuration.addProperty("autoDeleteOnStop", true);
+        configuration.addProperty("staticService", false);
+        configuration.add("groups", strings("Lobbies", "Global"));
+        configuration.add("deletedFilesAfterStop", strings("logs"));
+        configuration.add("templates", templates());
+        configuration.add("deployments", new JsonArray());
+        configuration.add("includes", new JsonArray());
+        configuration.add("properties", new JsonObject());
+        return configuration;
+    }
+
+    static JsonObject serviceTask(String name) {
+        JsonObject task = new JsonObject();
+        task.addProperty("name", name);
+        task.addProperty("runtime", "jvm");
+        task.addProperty("nameSplitter", "-");
+        task.addProperty("disableIpRewrite", false);
+        task.addProperty("maintenance", false);
+        task.addProperty("autoDeleteOnStop", true);
+        task.addProperty("staticServices", false);
+        task.add("groups", strings("Lobbies", "Global"));
+        task.add("associatedNodes", strings("Node-1", "Node-2"));
+        task.add("deletedFilesAfterStop", strings("logs"));
+        task.add("processConfiguration", processConfiguration());
+        task.addProperty("startPort", 44955);
+        task.addProperty("minServiceCount", 2);
+        task.add("templates", templates());
+        task.add("deployments", new JsonArray());
+        task.add("includes", new JsonArray());
+        task.add("properties", new JsonObject());
+        return task;
+    }
+
+    private static JsonObject processConfiguration() {
+        JsonObject environmentVariables = new JsonObject();
+        environmentVariables.addProperty("TZ", "Europe/Berlin");
+
+        JsonObject processConfiguration = new JsonObject();
+        processConfiguration.addProperty("environment", "MINECRAFT_SERVER");
+        processConfiguration.addProperty("maxHeapMemorySize", 1024);
+        processConfiguration.add("jvmOptions", strings("-XX:+UseG1GC", "-XX:MaxGCPauseMillis=50", "-Dfile.encoding=UTF-8"));
+        processConfiguration.add("processParameters", strings("--nogui"));
+        processConfiguration.add("environmentVariables", environmentVariables);
+        return processConfiguration;
+    }
+
+    private static JsonArray templates() {
+        JsonObject template = new JsonObject();
+        template.addProperty("prefix", "Lobby");
+        template.addProperty("name", "default");
+        template.addProperty("storage", "local");
+        template.addProperty("priority", 0);
+        template.addProperty("alwaysCopyToStaticServices", false);
+
+        JsonArray templates = new JsonArray();
+        templates.add(template);
+        return templates;
+    }
+
+    private static JsonObject hostAndPort(String host, int port) {
+        JsonObject address = new JsonObject();
+        address.addProperty("host", host);
+        address.addProperty("port", port);
+        return address;
+    }
+
+    private static JsonArray strings(String... values) {
+        JsonArray array = new JsonArray();
+        for (String value : values) {
+            array.add(value);
+        }
+        return array;
+    }
+
+    private static byte[] bytes(JsonObject object) {
+        return object.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+}
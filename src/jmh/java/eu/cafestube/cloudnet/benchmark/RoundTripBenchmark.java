@@ -0,0 +1,115 @@
+package eu.cafestube.cloudnet.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import eu.cafestube.cloudnet.CloudNetApiClient;
+import eu.cafestube.cloudnet.exception.TaskNotFoundException;
+import eu.cafestube.cloudnet.service.result.ServiceCreateResult;
+import eu.cafestube.cloudnet.service.status.ServiceInfoSnapshot;
+import eu.cafestube.cloudnet.task.ServiceTask;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full client round trips against an in-process stub of the node's REST API.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoundTripBenchmark {
+
+    private static final String SERVICE_ID = UUID.randomUUID().toString();
+
+    @Param({"16", "256"})
+    public int threads;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private CloudNetApiClient client;
+
+    @Setup
+    public void setup() throws IOException {
+        byte[] service = Payloads.serviceResponse(this.threads);
+        byte[] task = Payloads.taskResponse();
+        byte[] created = Payloads.createResultResponse(this.threads);
+        byte[] auth = Payloads.authResponse();
+
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext("/api/v2/auth", exchange -> respond(exchange, auth));
+        this.server.createContext("/api/v2/service/create", exchange -> respond(exchange, created));
+        this.server.createContext("/api/v2/service/", exchange -> respond(exchange, service));
+        this.server.createContext("/api/v2/task/", exchange -> respond(exchange, task));
+        this.serverExecutor = Executors.newFixedThreadPool(8);
+        this.server.setExecutor(this.serverExecutor);
+        this.server.start();
+
+        this.client = new CloudNetApiClient("http://" + this.server.getAddress().getHostString() + ":"
+                + this.server.getAddress().getPort(), "benchmark", "benchmark");
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.client.close();
+        this.server.stop(0);
+        this.serverExecutor.shutdownNow();
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream stream = exchange.getResponseBody()) {
+            stream.write(body);
+        }
+    }
+
+    @Benchmark
+    public ServiceInfoSnapshot getServiceById() {
+        return this.client.getServiceManager().getServiceById(SERVICE_ID);
+    }
+
+    @Benchmark
+    public ServiceInfoSnapshot getServiceByIdAsync() {
+        return this.client.getServiceManager().getServiceByIdAsync(SERVICE_ID).join();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public ServiceInfoSnapshot getServiceByIdContended() {
+        return this.client.getServiceManager().getServiceById(SERVICE_ID);
+    }
+
+    @Benchmark
+    public ServiceTask getServiceTask() {
+        return this.client.getTaskManager().getServiceTask("Lobby");
+    }
+
+    @Benchmark
+    public ServiceCreateResult createService() throws TaskNotFoundException {
+        return this.client.getServiceManager().createService("Lobby", false);
+    }
+
+}
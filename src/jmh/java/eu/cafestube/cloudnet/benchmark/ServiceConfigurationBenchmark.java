@@ -0,0 +1,44 @@
+package eu.cafestube.cloudnet.benchmark;
+
+import eu.cafestube.cloudnet.json.CloudNetGson;
+import eu.cafestube.cloudnet.service.ServiceConfiguration;
+import eu.cafestube.cloudnet.task.ServiceTask;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceConfigurationBenchmark {
+
+    private ServiceTask task;
+
+    @Setup
+    public void setup() {
+        this.task = CloudNetGson.create().fromJson(Payloads.serviceTask("Lobby"), ServiceTask.class);
+    }
+
+    @Benchmark
+    public ServiceConfiguration.Builder builderFromTask() {
+        return ServiceConfiguration.builder(this.task);
+    }
+
+    @Benchmark
+    public ServiceConfiguration buildFromTask() {
+        return ServiceConfiguration.builder(this.task).build();
+    }
+
+}
@@ -1,96 +1,539 @@
 package eu.cafestube.cloudnet;
 
+import com.google.common.base.Preconditions;
+import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import eu.cafestube.cloudnet.auth.CloudNetToken;
+import eu.cafestube.cloudnet.cache.CacheSettings;
+import eu.cafestube.cloudnet.exception.CircuitBreakerOpenException;
+import eu.cafestube.cloudnet.json.CloudNetGson;
+import eu.cafestube.cloudnet.json.JsonArrayIterator;
+import eu.cafestube.cloudnet.json.JsonField;
+import eu.cafestube.cloudnet.metrics.CloudNetMetrics;
+import eu.cafestube.cloudnet.metrics.CountingBodySubscriber;
+import eu.cafestube.cloudnet.metrics.EndpointTemplates;
+import eu.cafestube.cloudnet.request.BatchDispatcher;
+import eu.cafestube.cloudnet.request.BlockingCall;
+import eu.cafestube.cloudnet.request.BlockingExecution;
+import eu.cafestube.cloudnet.request.RequestLimiter;
+import eu.cafestube.cloudnet.request.VirtualThreads;
+import eu.cafestube.cloudnet.resilience.CircuitBreaker;
+import eu.cafestube.cloudnet.resilience.CircuitBreakerSettings;
+import eu.cafestube.cloudnet.resilience.RetryPolicy;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.Authenticator;
-import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.net.http.WebSocketHandshakeException;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
-public class CloudNetApiClient {
+public class CloudNetApiClient implements AutoCloseable {
 
+    private static final Duration TOKEN_RENEWAL_WINDOW = Duration.ofSeconds(30);
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE");
 
-
-    private final CloudNetServiceManager serviceManager = new CloudNetServiceManager(this);
-    private final CloudNetTaskManager taskManager = new CloudNetTaskManager(this);
+    private final Gson gson;
+    private final CloudNetServiceManager serviceManager;
+    private final CloudNetTaskManager taskManager;
+    private final CloudNetTemplateManager templateManager;
 
     private final String username;
     private final String password;
 
-    private String host;
-    private String cloudNetToken;
+    private final List<CloudNetNode> nodes;
+    private final LoadBalancing loadBalancing;
+    private final AtomicInteger nextNode = new AtomicInteger();
 
     private final HttpClient cloudNetClient;
+    private final @Nullable Duration requestTimeout;
+    private final RequestLimiter requestLimiter;
+    private final RetryPolicy retryPolicy;
+    private final CloudNetMetrics metrics;
+    private final @Nullable ExecutorService ownedExecutor;
+    private BlockingExecution blockingExecution;
 
     public CloudNetApiClient(String host, String username, String password) {
-        this.username = username;
-        this.password = password;
-        this.host = host;
+        this(builder().host(host).credentials(username, password));
+    }
 
-        this.cloudNetClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(30))
-                .build();
+    private CloudNetApiClient(Builder builder) {
+        // the managers pick up the shared instance while being constructed
+        this.gson = builder.gson == null ? CloudNetGson.create() : builder.gson;
+        this.serviceManager = new CloudNetServiceManager(this, builder.serviceCache);
+        this.taskManager = new CloudNetTaskManager(this, builder.taskCache);
+        this.templateManager = new CloudNetTemplateManager(this);
+
+        this.username = builder.username;
+        this.password = builder.password;
+
+        // with several nodes the breaker doubles as ejection, so it can't stay disabled
+        CircuitBreakerSettings breakerSettings = builder.circuitBreaker == null && builder.hosts.size() > 1
+                ? CircuitBreakerSettings.defaults()
+                : builder.circuitBreaker;
+        this.nodes = builder.hosts.stream()
+                .map(host -> new CloudNetNode(host, CircuitBreaker.create(breakerSettings)))
+                .toList();
+        this.loadBalancing = builder.loadBalancing;
+
+        this.metrics = builder.metrics;
+        for (CloudNetNode node : this.nodes) {
+            node.getCircuitBreaker().addListener(state -> this.metrics.onCircuitBreakerStateChange(node.getHost(), state));
+        }
+
+        // owned resources are only created here, so a builder that is reconfigured or never built can't leak them
+        this.ownedExecutor = builder.virtualThreadExecutor ? VirtualThreads.newVirtualThreadPerTaskExecutor() : null;
+        Executor executor = this.ownedExecutor != null ? this.ownedExecutor : builder.executor;
+
+        HttpClient.Builder httpClient = HttpClient.newBuilder()
+                .connectTimeout(builder.connectTimeout);
+        if (builder.version != null) {
+            httpClient.version(builder.version);
+        }
+        if (executor != null) {
+            httpClient.executor(executor);
+        }
+
+        this.cloudNetClient = httpClient.build();
+        this.requestTimeout = builder.requestTimeout;
+        this.requestLimiter = builder.maxConcurrentRequests > 0
+                ? RequestLimiter.of(builder.maxConcurrentRequests)
+                : RequestLimiter.unlimited();
+        this.retryPolicy = builder.retryPolicy;
+        this.blockingExecution = builder.blockingExecution == null ? null : builder.blockingExecution.get();
     }
 
-    private String login() {
-        try {
-            HttpResponse<JsonObject> response = cloudNetClient.send(HttpRequest.newBuilder()
-                    .POST(HttpRequest.BodyPublishers.noBody())
-                    .uri(URI.create(this.host + "/api/v2/auth"))
-                    .setHeader("Authorization", "Basic " + java.util.Base64.getEncoder()
-                            .encodeToString((this.username + ":" + this.password).getBytes(StandardCharsets.UTF_8)))
-                    .build(), jsonBodyHandler());
+    public static @NotNull Builder builder() {
+        return new Builder();
+    }
+
+    private CompletableFuture<CloudNetToken> currentToken(CloudNetNode node) {
+        CloudNetToken token = node.token;
+        if (token == null || token.isExpired()) {
+            return refreshToken(node, token);
+        }
+
+        if (token.expiresWithin(TOKEN_RENEWAL_WINDOW)) {
+            // still valid, renew in the background so the hot path never sees the 401
+            refreshToken(node, token);
+        }
+        return CompletableFuture.completedFuture(token);
+    }
 
-            if(response.statusCode() != 200) {
-                throw new RuntimeException("Failed to login");
+    private CompletableFuture<CloudNetToken> refreshToken(CloudNetNode node, @Nullable CloudNetToken staleToken) {
+        while (true) {
+            CompletableFuture<CloudNetToken> pending = node.pendingLogin.get();
+            if (pending != null) {
+                return pending;
             }
 
-            return response.body().get("token").getAsString();
-        } catch (IOException | InterruptedException e) {
-            throw new RuntimeException("Failed to login", e);
+            CloudNetToken current = node.token;
+            if (current != null && current != staleToken && !current.expiresWithin(TOKEN_RENEWAL_WINDOW)) {
+                return CompletableFuture.completedFuture(current);
+            }
+
+            CompletableFuture<CloudNetToken> login = new CompletableFuture<>();
+            if (node.pendingLogin.compareAndSet(null, login)) {
+                metrics.onLogin(node.getHost());
+                loginAsync(node).whenComplete((token, throwable) -> {
+                    if (token != null) {
+                        node.token = token;
+                    }
+                    node.pendingLogin.set(null);
+
+                    if (throwable != null) {
+                        login.completeExceptionally(throwable);
+                    } else {
+                        login.complete(token);
+                    }
+                });
+                return login;
+            }
         }
     }
 
+    private CloudNetToken awaitToken(CompletableFuture<CloudNetToken> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Failed to login", e.getCause());
+        }
+    }
+
+    private CompletableFuture<CloudNetToken> loginAsync(CloudNetNode node) {
+        long start = System.nanoTime();
+        return sendOnceAsync(loginRequest(node), jsonBodyHandler())
+                .whenComplete((response, throwable) -> {
+                    if (throwable != null) {
+                        metrics.onFailure("auth", node.getHost(), throwable, System.nanoTime() - start);
+                    } else {
+                        metrics.onResponse("auth", node.getHost(), response.statusCode(), System.nanoTime() - start);
+                    }
+                })
+                .thenApply(this::readToken);
+    }
+
+    private HttpRequest loginRequest(CloudNetNode node) {
+        HttpRequest.Builder request = HttpRequest.newBuilder()
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .uri(node.uri("auth"))
+                .setHeader("Authorization", "Basic " + java.util.Base64.getEncoder()
+                        .encodeToString((this.username + ":" + this.password).getBytes(StandardCharsets.UTF_8)));
+        if (this.requestTimeout != null) {
+            request.timeout(this.requestTimeout);
+        }
+        return request.build();
+    }
+
+    private CloudNetToken readToken(HttpResponse<JsonObject> response) {
+        if(response.statusCode() >= 500) {
+            // the node itself is failing, surface it like a transport error so the call fails over
+            throw new CompletionException(new IOException("Failed to login, node responded with " + response.statusCode()));
+        }
+
+        if(response.statusCode() != 200) {
+            throw new RuntimeException("Failed to login");
+        }
+
+        return CloudNetToken.fromResponse(response.body());
+    }
+
     public <T> HttpResponse<T> newCloudNetCall(String path, Consumer<HttpRequest.Builder> consumer, HttpResponse.BodyHandler<T> bodyHandler) {
-        return newCloudNetCall(path, consumer, bodyHandler, false);
+        HttpRequest template = newRequest(path, consumer);
+        boolean idempotent = IDEMPOTENT_METHODS.contains(template.method());
+        String endpoint = EndpointTemplates.of(path);
+        HttpResponse.BodyHandler<T> handler = instrument(endpoint, bodyHandler);
+
+        try {
+            CloudNetNode previous = null;
+            for (int attempt = 1; ; attempt++) {
+                CloudNetNode node = selectNode(idempotent, previous);
+                long start = System.nanoTime();
+
+                HttpResponse<T> response;
+                try {
+                    response = sendToNode(node, path, template, handler);
+                } catch (IOException e) {
+                    metrics.onFailure(endpoint, node.getHost(), e, System.nanoTime() - start);
+                    node.getCircuitBreaker().onFailure();
+                    if (!idempotent || !retryPolicy.canRetry(attempt)) {
+                        throw e;
+                    }
+                    metrics.onRetry(endpoint, attempt + 1);
+                    Thread.sleep(retryDelay(attempt).toMillis());
+                    previous = node;
+                    continue;
+                } catch (InterruptedException | RuntimeException e) {
+                    metrics.onFailure(endpoint, node.getHost(), e, System.nanoTime() - start);
+                    node.getCircuitBreaker().release();
+                    throw e;
+                }
+
+                long latency = System.nanoTime() - start;
+                metrics.onResponse(endpoint, node.getHost(), response.statusCode(), latency);
+                if (response.statusCode() < 500) {
+                    node.getCircuitBreaker().onSuccess();
+                    node.recordLatency(latency);
+                    return response;
+                }
+
+                node.getCircuitBreaker().onFailure();
+                if (!idempotent || !retryPolicy.canRetry(attempt)) {
+                    return response;
+                }
+                metrics.onRetry(endpoint, attempt + 1);
+                Thread.sleep(retryDelay(attempt).toMillis());
+                previous = node;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } catch (InterruptedException e) {
+            // callers only see the RuntimeException, keep the interrupt visible to them
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
     }
 
     public <T> HttpResponse<T> newCloudNetCall(String path, HttpResponse.BodyHandler<T> bodyHandler) {
         return newCloudNetCall(path, builder -> {}, bodyHandler);
     }
 
-    private  <T> HttpResponse<T> newCloudNetCall(String path, Consumer<HttpRequest.Builder> consumer, HttpResponse.BodyHandler<T> bodyHandler, boolean isRetry) {
-        if (this.cloudNetToken == null) {
-            this.cloudNetToken = login();
+    private <T> HttpResponse<T> sendToNode(CloudNetNode node, String path, HttpRequest template, HttpResponse.BodyHandler<T> bodyHandler) throws IOException, InterruptedException {
+        CloudNetToken token = awaitToken(currentToken(node));
+        HttpResponse<T> response = sendOnce(authorize(template, node, path, token), bodyHandler);
+        if(response.statusCode() != 401) {
+            return response;
         }
+
+        CloudNetToken refreshed = awaitToken(refreshToken(node, token));
+        response = sendOnce(authorize(template, node, path, refreshed), bodyHandler);
+        if(response.statusCode() == 401) {
+            throw new RuntimeException("Failed to authenticate");
+        }
+        return response;
+    }
+
+    public <T> CompletableFuture<HttpResponse<T>> newCloudNetCallAsync(String path, Consumer<HttpRequest.Builder> consumer, HttpResponse.BodyHandler<T> bodyHandler) {
+        HttpRequest template;
         try {
-            HttpRequest.Builder request = HttpRequest.newBuilder()
-                    .uri(URI.create(this.host + "/api/v2/" + path))
-                    .setHeader("Authorization", "Bearer " + this.cloudNetToken);
-            consumer.accept(request);
-            HttpResponse<T> response = cloudNetClient.send(request.build(), bodyHandler);
+            template = newRequest(path, consumer);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        String endpoint = EndpointTemplates.of(path);
+        return newCloudNetCallAsync(path, endpoint, template, instrument(endpoint, bodyHandler),
+                IDEMPOTENT_METHODS.contains(template.method()), 1, null);
+    }
+
+    public <T> CompletableFuture<HttpResponse<T>> newCloudNetCallAsync(String path, HttpResponse.BodyHandler<T> bodyHandler) {
+        return newCloudNetCallAsync(path, builder -> {}, bodyHandler);
+    }
 
-            if(response.statusCode() == 401 && !isRetry) {
-                this.cloudNetToken = login();
-                return newCloudNetCall(path, consumer, bodyHandler, true);
-            } else if(response.statusCode() == 401) {
-                throw new RuntimeException("Failed to authenticate");
+    private <T> CompletableFuture<HttpResponse<T>> newCloudNetCallAsync(String path, String endpoint, HttpRequest template, HttpResponse.BodyHandler<T> bodyHandler,
+                                                                        boolean idempotent, int attempt, @Nullable CloudNetNode previous) {
+        CloudNetNode node;
+        try {
+            node = selectNode(idempotent, previous);
+        } catch (CircuitBreakerOpenException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        long start = System.nanoTime();
+        return sendToNodeAsync(node, path, template, bodyHandler).handle((response, throwable) -> {
+            long latency = System.nanoTime() - start;
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+            if (cause != null) {
+                metrics.onFailure(endpoint, node.getHost(), cause, latency);
+            } else {
+                metrics.onResponse(endpoint, node.getHost(), response.statusCode(), latency);
             }
 
-            return response;
-        } catch (IOException | InterruptedException e) {
-            throw new RuntimeException(e);
+            if (cause != null && !(cause instanceof IOException)) {
+                node.getCircuitBreaker().release();
+                return CompletableFuture.<HttpResponse<T>>failedFuture(cause);
+            }
+
+            if (cause == null && response.statusCode() < 500) {
+                node.getCircuitBreaker().onSuccess();
+                node.recordLatency(latency);
+                return CompletableFuture.completedFuture(response);
+            }
+
+            node.getCircuitBreaker().onFailure();
+            if (!idempotent || !retryPolicy.canRetry(attempt)) {
+                return cause != null ? CompletableFuture.<HttpResponse<T>>failedFuture(cause) : CompletableFuture.completedFuture(response);
+            }
+
+            metrics.onRetry(endpoint, attempt + 1);
+            Executor delayed = CompletableFuture.delayedExecutor(retryDelay(attempt).toMillis(), TimeUnit.MILLISECONDS);
+            return CompletableFuture.runAsync(() -> {}, delayed)
+                    .thenCompose(ignored -> newCloudNetCallAsync(path, endpoint, template, bodyHandler, idempotent, attempt + 1, node));
+        }).thenCompose(Function.identity());
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> sendToNodeAsync(CloudNetNode node, String path, HttpRequest template, HttpResponse.BodyHandler<T> bodyHandler) {
+        return currentToken(node).thenCompose(token -> sendOnceAsync(authorize(template, node, path, token), bodyHandler)
+                .thenCompose(response -> {
+                    if(response.statusCode() != 401) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+
+                    return refreshToken(node, token)
+                            .thenCompose(refreshed -> sendOnceAsync(authorize(template, node, path, refreshed), bodyHandler))
+                            .thenCompose(retried -> retried.statusCode() == 401
+                                    ? CompletableFuture.failedFuture(new RuntimeException("Failed to authenticate"))
+                                    : CompletableFuture.completedFuture(retried));
+                }));
+    }
+
+    private <T> HttpResponse.BodyHandler<T> instrument(String endpoint, HttpResponse.BodyHandler<T> bodyHandler) {
+        if (this.metrics == CloudNetMetrics.noop()) {
+            return bodyHandler;
+        }
+        return CountingBodySubscriber.wrap(bodyHandler, bytes -> this.metrics.onBytesReceived(endpoint, bytes));
+    }
+
+    private HttpRequest newRequest(String path, Consumer<HttpRequest.Builder> consumer) {
+        HttpRequest.Builder request = HttpRequest.newBuilder()
+                .uri(this.nodes.get(0).uri(path));
+        if (this.requestTimeout != null) {
+            request.timeout(this.requestTimeout);
+        }
+        consumer.accept(request);
+        return request.build();
+    }
+
+    private HttpRequest authorize(HttpRequest template, CloudNetNode node, String path, CloudNetToken token) {
+        return HttpRequest.newBuilder(template, (name, value) -> true)
+                .uri(node.uri(path))
+                .setHeader("Authorization", "Bearer " + token.token())
+                .build();
+    }
+
+    private CloudNetNode selectNode(boolean read, @Nullable CloudNetNode avoid) {
+        List<CloudNetNode> candidates = this.nodes;
+        if (candidates.size() > 1) {
+            candidates = new ArrayList<>(candidates);
+            if (read && this.loadBalancing == LoadBalancing.ROUND_ROBIN) {
+                Collections.rotate(candidates, -Math.floorMod(this.nextNode.getAndIncrement(), candidates.size()));
+            } else if (read) {
+                candidates.sort(Comparator.comparingDouble(CloudNetNode::getAverageLatencyMillis));
+            }
+
+            // fail over to the other nodes first, the one that just failed is only the last resort
+            if (avoid != null && candidates.remove(avoid)) {
+                candidates.add(avoid);
+            }
+        }
+
+        for (CloudNetNode node : candidates) {
+            if (node.getCircuitBreaker().tryAcquire()) {
+                return node;
+            }
+        }
+        throw new CircuitBreakerOpenException(this.nodes.toString());
+    }
+
+    private Duration retryDelay(int attempt) {
+        // the first retries go straight to the next node, backing off only makes sense once every node was tried
+        if (attempt < this.nodes.size()) {
+            return Duration.ZERO;
+        }
+        return retryPolicy.backoff(attempt - this.nodes.size() + 1);
+    }
+
+    private <T> HttpResponse<T> sendOnce(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) throws IOException, InterruptedException {
+        requestLimiter.acquireBlocking();
+        try {
+            return cloudNetClient.send(request, bodyHandler);
+        } finally {
+            requestLimiter.release();
         }
     }
 
+    private <T> CompletableFuture<HttpResponse<T>> sendOnceAsync(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) {
+        return requestLimiter.acquire().thenCompose(ignored -> {
+            CompletableFuture<HttpResponse<T>> response;
+            try {
+                response = cloudNetClient.sendAsync(request, bodyHandler);
+            } catch (RuntimeException e) {
+                response = CompletableFuture.failedFuture(e);
+            }
+            return response.whenComplete((result, throwable) -> requestLimiter.release());
+        });
+    }
+
+
+    /**
+     * Opens an authenticated WebSocket to {@code path} on one of the available nodes. A handshake rejected with 401
+     * is retried once with a fresh token.
+     */
+    public CompletableFuture<WebSocket> newCloudNetWebSocket(String path, WebSocket.Listener listener) {
+        CloudNetNode node;
+        try {
+            node = selectNode(true, null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return currentToken(node)
+                .thenCompose(token -> openWebSocket(node, path, token, listener)
+                        .exceptionallyCompose(throwable -> {
+                            if (!(BatchDispatcher.unwrap(throwable) instanceof WebSocketHandshakeException handshake)
+                                    || handshake.getResponse().statusCode() != 401) {
+                                return CompletableFuture.failedFuture(throwable);
+                            }
+                            return refreshToken(node, token).thenCompose(refreshed -> openWebSocket(node, path, refreshed, listener));
+                        }))
+                .whenComplete((webSocket, throwable) -> {
+                    if (throwable == null) {
+                        node.getCircuitBreaker().onSuccess();
+                    } else {
+                        node.getCircuitBreaker().onFailure();
+                    }
+                });
+    }
+
+    private CompletableFuture<WebSocket> openWebSocket(CloudNetNode node, String path, CloudNetToken token, WebSocket.Listener listener) {
+        return cloudNetClient.newWebSocketBuilder()
+                .header("Authorization", "Bearer " + token.token())
+                .buildAsync(node.webSocketUri(path), listener);
+    }
+
+    /**
+     * Runs blocking client calls on the configured blocking execution, by default virtual threads where the runtime
+     * supports them, e.g. {@code client.execute(c -> c.getServiceManager().getServiceById(id))}.
+     */
+    public <T> CompletableFuture<T> execute(BlockingCall<T> call) {
+        return getBlockingExecution().submit(() -> call.call(this));
+    }
+
+    public synchronized BlockingExecution getBlockingExecution() {
+        if (this.blockingExecution == null) {
+            this.blockingExecution = BlockingExecution.defaults(0);
+        }
+        return this.blockingExecution;
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (this.blockingExecution != null) {
+                this.blockingExecution.close();
+            }
+        }
+        if (this.ownedExecutor != null) {
+            this.ownedExecutor.shutdown();
+        }
+    }
+
+    public CloudNetMetrics getMetrics() {
+        return metrics;
+    }
+
+    public List<CloudNetNode> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * The {@link Gson} instance shared by all managers, with the adapters of {@link CloudNetGson} unless the builder
+     * was given another one.
+     */
+    public Gson getGson() {
+        return gson;
+    }
 
     public CloudNetServiceManager getServiceManager() {
         return serviceManager;
@@ -100,6 +543,10 @@ public class CloudNetApiClient {
         return taskManager;
     }
 
+    public CloudNetTemplateManager getTemplateManager() {
+        return templateManager;
+    }
+
     public static HttpResponse.BodyHandler<JsonObject> jsonBodyHandler() {
         return responseInfo -> HttpResponse.BodySubscribers.mapping(
                 HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8),
@@ -118,7 +565,221 @@ public class CloudNetApiClient {
         );
     }
 
+    public static <T> HttpResponse.BodyHandler<Supplier<JsonField<T>>> jsonFieldBodyHandler(Gson gson, String field, Class<T> type) {
+        return jsonFieldBodyHandler(gson, field, gson.getAdapter(type));
+    }
+
+    public static <T> HttpResponse.BodyHandler<Supplier<JsonField<T>>> jsonFieldBodyHandler(Gson gson, String field, TypeAdapter<T> adapter) {
+        return responseInfo -> {
+            if (responseInfo.statusCode() != 200) {
+                return HttpResponse.BodySubscribers.replacing(JsonField::empty);
+            }
+
+            // the stream must not be read inside the mapper, the body only arrives once the mapper returned
+            return HttpResponse.BodySubscribers.mapping(
+                    HttpResponse.BodySubscribers.ofInputStream(),
+                    stream -> () -> JsonField.read(gson, stream, field, adapter)
+            );
+        };
+    }
+
+    public static <T> HttpResponse.BodyHandler<Stream<T>> jsonArrayBodyHandler(Gson gson, String field, Class<T> type) {
+        return jsonArrayBodyHandler(gson, field, gson.getAdapter(type));
+    }
+
+    public static <T> HttpResponse.BodyHandler<Stream<T>> jsonArrayBodyHandler(Gson gson, String field, TypeAdapter<T> adapter) {
+        return responseInfo -> {
+            if (responseInfo.statusCode() != 200) {
+                return HttpResponse.BodySubscribers.replacing(Stream.empty());
+            }
+
+            // the returned stream is lazy, nothing is read until a terminal operation runs on it
+            return HttpResponse.BodySubscribers.mapping(
+                    HttpResponse.BodySubscribers.ofInputStream(),
+                    stream -> JsonArrayIterator.stream(gson, stream, field, adapter)
+            );
+        };
+    }
+
+    public static <T> HttpResponse.BodyHandler<Supplier<JsonField<T>>> bufferedJsonFieldBodyHandler(Gson gson, String field, Class<T> type) {
+        return bufferedJsonFieldBodyHandler(gson, field, gson.getAdapter(type));
+    }
+
+    /**
+     * Like {@link #jsonFieldBodyHandler(Gson, String, TypeAdapter)}, but the body is collected without blocking and
+     * parsed once it is complete. Async calls have to use this variant, reading the stream of the other one in a
+     * completion stage blocks a thread of the client's executor until the body arrived.
+     */
+    public static <T> HttpResponse.BodyHandler<Supplier<JsonField<T>>> bufferedJsonFieldBodyHandler(Gson gson, String field, TypeAdapter<T> adapter) {
+        return responseInfo -> {
+            if (responseInfo.statusCode() != 200) {
+                return HttpResponse.BodySubscribers.replacing(JsonField::empty);
+            }
+
+            return HttpResponse.BodySubscribers.mapping(
+                    HttpResponse.BodySubscribers.ofByteArray(),
+                    body -> {
+                        JsonField<T> data = JsonField.read(gson, new ByteArrayInputStream(body), field, adapter);
+                        return () -> data;
+                    }
+            );
+        };
+    }
+
+    public static <T> HttpResponse.BodyHandler<Stream<T>> bufferedJsonArrayBodyHandler(Gson gson, String field, Class<T> type) {
+        return bufferedJsonArrayBodyHandler(gson, field, gson.getAdapter(type));
+    }
+
+    /**
+     * Non-blocking counterpart of {@link #jsonArrayBodyHandler(Gson, String, TypeAdapter)} for async calls. The
+     * elements are still decoded lazily, but from the completely received body.
+     */
+    public static <T> HttpResponse.BodyHandler<Stream<T>> bufferedJsonArrayBodyHandler(Gson gson, String field, TypeAdapter<T> adapter) {
+        return responseInfo -> {
+            if (responseInfo.statusCode() != 200) {
+                return HttpResponse.BodySubscribers.replacing(Stream.empty());
+            }
+
+            return HttpResponse.BodySubscribers.mapping(
+                    HttpResponse.BodySubscribers.ofByteArray(),
+                    body -> JsonArrayIterator.stream(gson, new ByteArrayInputStream(body), field, adapter)
+            );
+        };
+    }
+
     public static HttpRequest.BodyPublisher jsonBody(JsonObject object) {
         return HttpRequest.BodyPublishers.ofString(object.toString(), StandardCharsets.UTF_8);
     }
+
+    public static class Builder {
+
+        private List<String> hosts = List.of();
+        private LoadBalancing loadBalancing = LoadBalancing.ROUND_ROBIN;
+        private String username;
+        private String password;
+
+        private Duration connectTimeout = Duration.ofSeconds(30);
+        private Duration requestTimeout;
+        private HttpClient.Version version;
+        private Executor executor;
+        private boolean virtualThreadExecutor;
+        private int maxConcurrentRequests;
+        private Supplier<BlockingExecution> blockingExecution;
+        private RetryPolicy retryPolicy = RetryPolicy.defaults();
+        private CircuitBreakerSettings circuitBreaker;
+        private CloudNetMetrics metrics = CloudNetMetrics.noop();
+
+        private CacheSettings serviceCache;
+        private CacheSettings taskCache;
+        private Gson gson;
+
+        public @NotNull Builder host(@NotNull String host) {
+            this.hosts = List.of(host);
+            return this;
+        }
+
+        public @NotNull Builder hosts(@NotNull Collection<String> hosts) {
+            this.hosts = List.copyOf(hosts);
+            return this;
+        }
+
+        public @NotNull Builder loadBalancing(@NotNull LoadBalancing loadBalancing) {
+            this.loadBalancing = loadBalancing;
+            return this;
+        }
+
+        public @NotNull Builder credentials(@NotNull String username, @NotNull String password) {
+            this.username = username;
+            this.password = password;
+            return this;
+        }
+
+        public @NotNull Builder connectTimeout(@NotNull Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        public @NotNull Builder requestTimeout(@Nullable Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        public @NotNull Builder version(@Nullable HttpClient.Version version) {
+            this.version = version;
+            return this;
+        }
+
+        public @NotNull Builder executor(@Nullable Executor executor) {
+            this.executor = executor;
+            this.virtualThreadExecutor = false;
+            return this;
+        }
+
+        public @NotNull Builder virtualThreadExecutor() {
+            this.virtualThreadExecutor = true;
+            this.executor = null;
+            return this;
+        }
+
+        public @NotNull Builder blockingExecution(@NotNull ExecutorService executor, int maxConcurrency) {
+            this.blockingExecution = () -> BlockingExecution.of(executor, maxConcurrency);
+            return this;
+        }
+
+        public @NotNull Builder virtualThreadBlockingExecution(int maxConcurrency) {
+            this.blockingExecution = () -> BlockingExecution.virtualThreads(maxConcurrency);
+            return this;
+        }
+
+        public @NotNull Builder maxConcurrentRequests(int maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+
+        /**
+         * Retries idempotent calls on IO errors and 5xx responses, trying the other nodes first. Defaults to
+         * {@link RetryPolicy#defaults()}, use {@link RetryPolicy#none()} to send every call exactly once.
+         */
+        public @NotNull Builder retryPolicy(@NotNull RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        public @NotNull Builder circuitBreaker(@Nullable CircuitBreakerSettings circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+            return this;
+        }
+
+        public @NotNull Builder metrics(@NotNull CloudNetMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        public @NotNull Builder serviceCache(@Nullable CacheSettings serviceCache) {
+            this.serviceCache = serviceCache;
+            return this;
+        }
+
+        public @NotNull Builder taskCache(@Nullable CacheSettings taskCache) {
+            this.taskCache = taskCache;
+            return this;
+        }
+
+        /**
+         * Replaces the shared {@link Gson} instance, it should be based on {@link CloudNetGson#builder()} to keep the
+         * model adapters.
+         */
+        public @NotNull Builder gson(@Nullable Gson gson) {
+            this.gson = gson;
+            return this;
+        }
+
+        public @NotNull CloudNetApiClient build() {
+            Preconditions.checkArgument(!this.hosts.isEmpty(), "no host given");
+            Preconditions.checkNotNull(this.username, "no username given");
+            Preconditions.checkNotNull(this.password, "no password given");
+
+            return new CloudNetApiClient(this);
+        }
+    }
 }
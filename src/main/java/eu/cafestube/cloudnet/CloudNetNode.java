@@ -0,0 +1,70 @@
+package eu.cafestube.cloudnet;
+
+import eu.cafestube.cloudnet.auth.CloudNetToken;
+import eu.cafestube.cloudnet.resilience.CircuitBreaker;
+import org.jetbrains.annotations.NotNull;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * One REST endpoint of the cluster. Every node logs in on its own and is ejected through its circuit breaker
+ * while it keeps failing.
+ */
+public final class CloudNetNode {
+
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final String host;
+    private final CircuitBreaker circuitBreaker;
+
+    volatile CloudNetToken token;
+    final AtomicReference<CompletableFuture<CloudNetToken>> pendingLogin = new AtomicReference<>();
+
+    private double averageLatencyNanos = -1;
+
+    CloudNetNode(String host, CircuitBreaker circuitBreaker) {
+        this.host = host;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    URI uri(String path) {
+        return URI.create(this.host + "/api/v2/" + path);
+    }
+
+    URI webSocketUri(String path) {
+        return URI.create(this.host.replaceFirst("^http", "ws") + "/api/v2/" + path);
+    }
+
+    synchronized void recordLatency(long nanos) {
+        this.averageLatencyNanos = this.averageLatencyNanos < 0
+                ? nanos
+                : this.averageLatencyNanos + LATENCY_SMOOTHING * (nanos - this.averageLatencyNanos);
+    }
+
+    public @NotNull String getHost() {
+        return this.host;
+    }
+
+    public @NotNull CircuitBreaker getCircuitBreaker() {
+        return this.circuitBreaker;
+    }
+
+    public boolean isHealthy() {
+        return this.circuitBreaker.state() == CircuitBreaker.State.CLOSED;
+    }
+
+    /**
+     * Exponentially smoothed latency of successful calls, {@code -1} until the first call completed.
+     */
+    public synchronized double getAverageLatencyMillis() {
+        return this.averageLatencyNanos < 0 ? -1 : this.averageLatencyNanos / 1_000_000D;
+    }
+
+    @Override
+    public String toString() {
+        return this.host;
+    }
+
+}
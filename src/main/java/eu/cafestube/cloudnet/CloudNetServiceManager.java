@@ -1,41 +1,111 @@
 package eu.cafestube.cloudnet;
 
+import com.google.common.cache.CacheStats;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
+import eu.cafestube.cloudnet.cache.CacheSettings;
+import eu.cafestube.cloudnet.cache.LookupCache;
+import eu.cafestube.cloudnet.console.LiveLogPublisher;
+import eu.cafestube.cloudnet.event.ServiceEvent;
+import eu.cafestube.cloudnet.event.ServiceEventListener;
+import eu.cafestube.cloudnet.event.ServiceEventSubscription;
 import eu.cafestube.cloudnet.exception.TaskNotFoundException;
+import eu.cafestube.cloudnet.json.JsonField;
+import eu.cafestube.cloudnet.request.BatchDispatcher;
+import eu.cafestube.cloudnet.request.RequestCoalescer;
 import eu.cafestube.cloudnet.service.LifecycleUpdate;
 import eu.cafestube.cloudnet.service.ServiceConfiguration;
+import eu.cafestube.cloudnet.service.result.BatchLifecycleUpdateResult;
+import eu.cafestube.cloudnet.service.result.LifecycleUpdateResult;
 import eu.cafestube.cloudnet.service.result.ServiceCreateResult;
+import eu.cafestube.cloudnet.service.status.LazyServiceInfoSnapshot;
 import eu.cafestube.cloudnet.service.status.ServiceInfoSnapshot;
+import eu.cafestube.cloudnet.service.status.ServiceLifeCycle;
+import eu.cafestube.cloudnet.service.status.ServiceProperties;
 import eu.cafestube.cloudnet.task.ServiceTask;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
-import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 public class CloudNetServiceManager {
 
-    private final Gson gson = new Gson();
+    public static final int DEFAULT_BATCH_PARALLELISM = 8;
+    public static final int DEFAULT_EVENT_BUFFER_SIZE = 256;
+
+    private static final String EVENTS_PATH = "service/liveEvents";
+    private static final Logger LOGGER = Logger.getLogger(CloudNetServiceManager.class.getName());
+
+    private final Gson gson;
     private final CloudNetApiClient client;
+    private final LookupCache<ServiceInfoSnapshot> cache;
+    private final RequestCoalescer<ServiceInfoSnapshot> snapshotRequests = new RequestCoalescer<>();
 
     public CloudNetServiceManager(CloudNetApiClient client) {
+        this(client, null);
+    }
+
+    public CloudNetServiceManager(CloudNetApiClient client, @Nullable CacheSettings cacheSettings) {
         this.client = client;
+        this.gson = client.getGson();
+        this.cache = LookupCache.create(cacheSettings, snapshot -> snapshot.configuration().serviceId().uniqueId());
     }
 
 
     public ServiceCreateResult createService(String taskName, boolean start) throws TaskNotFoundException {
-        HttpResponse<JsonObject> response = client.newCloudNetCall("service/create", builder -> {
+        HttpResponse<Supplier<JsonField<ServiceCreateResult>>> response = client.newCloudNetCall("service/create",
+                createServiceRequest(taskName, start), createResultHandler());
+
+        return readCreateResult(taskName, response);
+    }
+
+    public CompletableFuture<ServiceCreateResult> createServiceAsync(String taskName, boolean start) {
+        return client.newCloudNetCallAsync("service/create", createServiceRequest(taskName, start), asyncCreateResultHandler())
+                .thenApply(response -> {
+                    try {
+                        return readCreateResult(taskName, response);
+                    } catch (TaskNotFoundException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    private Consumer<HttpRequest.Builder> createServiceRequest(String taskName, boolean start) {
+        return builder -> {
             JsonObject data = new JsonObject();
             data.addProperty("serviceTaskName", taskName);
             data.addProperty("start", start);
             builder.POST(CloudNetApiClient.jsonBody(data));
-        }, CloudNetApiClient.jsonBodyHandler());
+        };
+    }
+
+    private HttpResponse.BodyHandler<Supplier<JsonField<ServiceCreateResult>>> createResultHandler() {
+        return CloudNetApiClient.jsonFieldBodyHandler(gson, "result", ServiceCreateResult.class);
+    }
 
+    private HttpResponse.BodyHandler<Supplier<JsonField<ServiceCreateResult>>> asyncCreateResultHandler() {
+        return CloudNetApiClient.bufferedJsonFieldBodyHandler(gson, "result", ServiceCreateResult.class);
+    }
 
+    private ServiceCreateResult readCreateResult(String taskName, HttpResponse<Supplier<JsonField<ServiceCreateResult>>> response) throws TaskNotFoundException {
         if(response.statusCode() == 400) {
             throw new TaskNotFoundException(taskName);
         }
@@ -44,20 +114,33 @@ public class CloudNetServiceManager {
             throw new RuntimeException("Failed to create service for task " + taskName );
 
 
-        JsonObject data = response.body();
-
-        return gson.fromJson(data.get("result"), ServiceCreateResult.class);
+        ServiceCreateResult result = response.body().get().value();
+        invalidateCreated(result);
+        return result;
     }
 
     public ServiceCreateResult createService(ServiceConfiguration configuration, boolean start) {
-        HttpResponse<Optional<JsonObject>> response = client.newCloudNetCall("service/create", builder -> {
+        HttpResponse<Supplier<JsonField<ServiceCreateResult>>> response = client.newCloudNetCall("service/create",
+                createServiceRequest(configuration, start), createResultHandler());
+
+        return readCreateResult(response);
+    }
+
+    public CompletableFuture<ServiceCreateResult> createServiceAsync(ServiceConfiguration configuration, boolean start) {
+        return client.newCloudNetCallAsync("service/create", createServiceRequest(configuration, start), asyncCreateResultHandler())
+                .thenApply(this::readCreateResult);
+    }
+
+    private Consumer<HttpRequest.Builder> createServiceRequest(ServiceConfiguration configuration, boolean start) {
+        return builder -> {
             JsonObject data = new JsonObject();
             data.add("serviceConfiguration", gson.toJsonTree(configuration));
             data.addProperty("start", start);
             builder.POST(CloudNetApiClient.jsonBody(data));
-        }, CloudNetApiClient.optionalJsonBodyHandler());
-
+        };
+    }
 
+    private ServiceCreateResult readCreateResult(HttpResponse<Supplier<JsonField<ServiceCreateResult>>> response) {
         if(response.statusCode() == 400) {
             throw new IllegalArgumentException("Invalid service configuration");
         }
@@ -65,35 +148,332 @@ public class CloudNetServiceManager {
         if(response.statusCode() != 200)
             throw new RuntimeException("Failed to create service");
 
-        JsonObject data = response.body().orElse(null);
+        ServiceCreateResult result = response.body().get().value();
 
-        if (data == null) {
+        if (result == null) {
             throw new RuntimeException("Failed to create service");
         }
 
-        return gson.fromJson(data.get("result"), ServiceCreateResult.class);
+        invalidateCreated(result);
+        return result;
+    }
+
+    private void invalidateCreated(@Nullable ServiceCreateResult result) {
+        if (result != null && result.serviceInfo() != null) {
+            invalidate(result.serviceInfo().configuration().serviceId().uniqueId());
+        }
+    }
+
+    public List<ServiceCreateResult> createServices(String taskName, int count, boolean start) {
+        return createServicesAsync(taskName, count, start, DEFAULT_BATCH_PARALLELISM).join();
+    }
+
+    public List<ServiceCreateResult> createServices(String taskName, int count, boolean start, int parallelism) {
+        return createServicesAsync(taskName, count, start, parallelism).join();
+    }
+
+    public CompletableFuture<List<ServiceCreateResult>> createServicesAsync(String taskName, int count, boolean start, int parallelism) {
+        return BatchDispatcher.dispatch(Collections.nCopies(count, taskName), parallelism,
+                name -> createServiceAsync(name, start), (name, throwable) -> failedCreation(name, throwable));
+    }
+
+    public List<ServiceCreateResult> createServices(Collection<ServiceConfiguration> configurations, boolean start) {
+        return createServicesAsync(configurations, start, DEFAULT_BATCH_PARALLELISM).join();
+    }
+
+    public List<ServiceCreateResult> createServices(Collection<ServiceConfiguration> configurations, boolean start, int parallelism) {
+        return createServicesAsync(configurations, start, parallelism).join();
+    }
+
+    public CompletableFuture<List<ServiceCreateResult>> createServicesAsync(Collection<ServiceConfiguration> configurations,
+                                                                           boolean start, int parallelism) {
+        return BatchDispatcher.dispatch(List.copyOf(configurations), parallelism,
+                configuration -> createServiceAsync(configuration, start),
+                (configuration, throwable) -> failedCreation(configuration.serviceId().taskName(), throwable));
+    }
+
+    private ServiceCreateResult failedCreation(String taskName, Throwable throwable) {
+        LOGGER.log(Level.WARNING, "Failed to create service of task " + taskName, throwable);
+        return new ServiceCreateResult(ServiceCreateResult.State.FAILED, null, null);
     }
 
     public @Nullable ServiceInfoSnapshot getServiceById(String id) {
-        HttpResponse<Optional<JsonObject>> response = client.newCloudNetCall("service/" + id, builder -> {},
-                CloudNetApiClient.optionalJsonBodyHandler());
+        ServiceInfoSnapshot cached = cache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        return snapshotRequests.run(id, () -> {
+            long generation = cache.generation();
+            HttpResponse<Supplier<JsonField<ServiceInfoSnapshot>>> response = client.newCloudNetCall("service/" + id,
+                    snapshotHandler());
+
+            ServiceInfoSnapshot snapshot = readServiceField(response);
+            cache.put(id, snapshot, generation);
+            return snapshot;
+        });
+    }
+
+    public CompletableFuture<@Nullable ServiceInfoSnapshot> getServiceByIdAsync(String id) {
+        ServiceInfoSnapshot cached = cache.get(id);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return snapshotRequests.runAsync(id, () -> {
+            long generation = cache.generation();
+            return client.newCloudNetCallAsync("service/" + id,
+                            CloudNetApiClient.bufferedJsonFieldBodyHandler(gson, "snapshot", ServiceInfoSnapshot.class))
+                    .thenApply(response -> {
+                        ServiceInfoSnapshot snapshot = readServiceField(response);
+                        cache.put(id, snapshot, generation);
+                        return snapshot;
+                    });
+        });
+    }
+
+    private HttpResponse.BodyHandler<Supplier<JsonField<ServiceInfoSnapshot>>> snapshotHandler() {
+        return CloudNetApiClient.jsonFieldBodyHandler(gson, "snapshot", ServiceInfoSnapshot.class);
+    }
+
+    /**
+     * Lists all services known to the node. The returned stream reads the response body lazily and should be closed
+     * if it isn't consumed completely.
+     */
+    public Stream<ServiceInfoSnapshot> getServices() {
+        HttpResponse<Stream<ServiceInfoSnapshot>> response = client.newCloudNetCall("service",
+                CloudNetApiClient.jsonArrayBodyHandler(gson, "services", ServiceInfoSnapshot.class));
+
+        if(response.statusCode() != 200)
+            throw new RuntimeException("Failed to query services");
+
+        return response.body();
+    }
+
+    /**
+     * Lists all services known to the node without blocking a thread while the response arrives.
+     */
+    public CompletableFuture<List<ServiceInfoSnapshot>> getServicesAsync() {
+        return client.newCloudNetCallAsync("service",
+                        CloudNetApiClient.bufferedJsonArrayBodyHandler(gson, "services", ServiceInfoSnapshot.class))
+                .thenApply(response -> {
+                    if(response.statusCode() != 200)
+                        throw new RuntimeException("Failed to query services");
+
+                    try (Stream<ServiceInfoSnapshot> services = response.body()) {
+                        return services.toList();
+                    }
+                });
+    }
+
+    /**
+     * Reads only the given property keys of a service, the rest of the snapshot is skipped while parsing.
+     */
+    public @Nullable ServiceProperties getServiceProperties(String id, String... keys) {
+        HttpResponse<Supplier<JsonField<ServiceProperties>>> response = client.newCloudNetCall("service/" + id,
+                CloudNetApiClient.jsonFieldBodyHandler(gson, "snapshot", ServiceProperties.adapter(List.of(keys))));
+        return readServiceField(response);
+    }
+
+    public CompletableFuture<@Nullable ServiceProperties> getServicePropertiesAsync(String id, String... keys) {
+        return client.newCloudNetCallAsync("service/" + id,
+                        CloudNetApiClient.bufferedJsonFieldBodyHandler(gson, "snapshot", ServiceProperties.adapter(List.of(keys))))
+                .thenApply(this::readServiceField);
+    }
+
+    /**
+     * Reads the given property keys of every service. Like {@link #getServices()} the stream is read lazily.
+     */
+    public Stream<ServiceProperties> getAllServiceProperties(String... keys) {
+        HttpResponse<Stream<ServiceProperties>> response = client.newCloudNetCall("service",
+                CloudNetApiClient.jsonArrayBodyHandler(gson, "services", ServiceProperties.adapter(List.of(keys))));
+
+        if(response.statusCode() != 200)
+            throw new RuntimeException("Failed to query services");
+
+        return response.body();
+    }
+
+    /**
+     * Like {@link #getServiceById(String)}, but the configuration, process snapshot and properties are only bound
+     * when accessed.
+     */
+    public @Nullable LazyServiceInfoSnapshot getLazyServiceById(String id) {
+        HttpResponse<Supplier<JsonField<LazyServiceInfoSnapshot>>> response = client.newCloudNetCall("service/" + id,
+                CloudNetApiClient.jsonFieldBodyHandler(gson, "snapshot", LazyServiceInfoSnapshot.class));
+        return readServiceField(response);
+    }
+
+    public Stream<LazyServiceInfoSnapshot> getLazyServices() {
+        HttpResponse<Stream<LazyServiceInfoSnapshot>> response = client.newCloudNetCall("service",
+                CloudNetApiClient.jsonArrayBodyHandler(gson, "services", LazyServiceInfoSnapshot.class));
+
+        if(response.statusCode() != 200)
+            throw new RuntimeException("Failed to query services");
 
+        return response.body();
+    }
+
+    private <T> @Nullable T readServiceField(HttpResponse<Supplier<JsonField<T>>> response) {
         if(response.statusCode() != 200)
             throw new RuntimeException("Failed to query service");
 
-        JsonObject data = response.body().orElse(null);
+        JsonField<T> data = response.body().get();
+        return data.isSuccess() ? data.value() : null;
+    }
 
-        if (data == null || !data.has("success") || !data.get("success").getAsBoolean()) {
-            return null;
-        }
+    public Stream<ServiceInfoSnapshot> getServices(Predicate<ServiceInfoSnapshot> filter) {
+        return getServices().filter(filter);
+    }
+
+    public Stream<ServiceInfoSnapshot> getServicesByTask(String taskName) {
+        return getServices(snapshot -> snapshot.configuration().serviceId().taskName().equals(taskName));
+    }
 
-        return gson.fromJson(data.get("snapshot"), ServiceInfoSnapshot.class);
+    public Stream<ServiceInfoSnapshot> getServicesByGroup(String group) {
+        return getServices(snapshot -> snapshot.configuration().groups().contains(group));
+    }
+
+    public Stream<ServiceInfoSnapshot> getServicesByNode(String nodeUniqueId) {
+        return getServices(snapshot -> nodeUniqueId.equals(snapshot.configuration().serviceId().nodeUniqueId()));
+    }
+
+    public Stream<ServiceInfoSnapshot> getServicesByLifeCycle(ServiceLifeCycle lifeCycle) {
+        return getServices(snapshot -> snapshot.lifeCycle() == lifeCycle);
     }
 
     public void updateServiceState(LifecycleUpdate state, UUID serviceId) {
-        client.newCloudNetCall("service/" + serviceId + "/lifecycle?target=" + state.name().toLowerCase(Locale.ROOT), builder -> {
-            builder.method("PATCH", HttpRequest.BodyPublishers.noBody());
-        }, HttpResponse.BodyHandlers.discarding());
+        client.newCloudNetCall(lifecyclePath(state, serviceId), lifecycleRequest(), HttpResponse.BodyHandlers.discarding());
+        invalidate(serviceId);
+    }
+
+    public CompletableFuture<Void> updateServiceStateAsync(LifecycleUpdate state, UUID serviceId) {
+        return client.newCloudNetCallAsync(lifecyclePath(state, serviceId), lifecycleRequest(), HttpResponse.BodyHandlers.discarding())
+                .thenAccept(response -> invalidate(serviceId));
+    }
+
+    public BatchLifecycleUpdateResult updateServiceStates(LifecycleUpdate state, Collection<UUID> serviceIds) {
+        return updateServiceStatesAsync(state, serviceIds, DEFAULT_BATCH_PARALLELISM).join();
+    }
+
+    public BatchLifecycleUpdateResult updateServiceStates(LifecycleUpdate state, Collection<UUID> serviceIds, int parallelism) {
+        return updateServiceStatesAsync(state, serviceIds, parallelism).join();
+    }
+
+    public BatchLifecycleUpdateResult updateServiceStatesByTask(LifecycleUpdate state, String taskName) {
+        return updateServiceStates(state, collectServiceIds(getServicesByTask(taskName)));
+    }
+
+    public BatchLifecycleUpdateResult updateServiceStatesByGroup(LifecycleUpdate state, String group) {
+        return updateServiceStates(state, collectServiceIds(getServicesByGroup(group)));
+    }
+
+    public CompletableFuture<BatchLifecycleUpdateResult> updateServiceStatesAsync(LifecycleUpdate state, Collection<UUID> serviceIds,
+                                                                                  int parallelism) {
+        long start = System.nanoTime();
+        return BatchDispatcher.dispatch(List.copyOf(serviceIds), parallelism, serviceId -> updateServiceStateTimed(state, serviceId),
+                        (serviceId, throwable) -> new LifecycleUpdateResult(serviceId, -1, Duration.ZERO, throwable))
+                .thenApply(results -> new BatchLifecycleUpdateResult(state, results, Duration.ofNanos(System.nanoTime() - start)));
+    }
+
+    private CompletableFuture<LifecycleUpdateResult> updateServiceStateTimed(LifecycleUpdate state, UUID serviceId) {
+        long start = System.nanoTime();
+        return client.newCloudNetCallAsync(lifecyclePath(state, serviceId), lifecycleRequest(), HttpResponse.BodyHandlers.discarding())
+                .handle((response, throwable) -> {
+                    Duration latency = Duration.ofNanos(System.nanoTime() - start);
+                    if (throwable != null) {
+                        return new LifecycleUpdateResult(serviceId, -1, latency, BatchDispatcher.unwrap(throwable));
+                    }
+
+                    invalidate(serviceId);
+                    return new LifecycleUpdateResult(serviceId, response.statusCode(), latency, null);
+                });
+    }
+
+    private List<UUID> collectServiceIds(Stream<ServiceInfoSnapshot> services) {
+        try (services) {
+            return services.map(snapshot -> snapshot.configuration().serviceId().uniqueId()).toList();
+        }
+    }
+
+    private String lifecyclePath(LifecycleUpdate state, UUID serviceId) {
+        return "service/" + serviceId + "/lifecycle?target=" + state.name().toLowerCase(Locale.ROOT);
+    }
+
+    private Consumer<HttpRequest.Builder> lifecycleRequest() {
+        return builder -> builder.method("PATCH", HttpRequest.BodyPublishers.noBody());
+    }
+
+    /**
+     * Cached console output of a service. Lines are decoded one at a time while the stream is consumed, close it if
+     * it isn't consumed completely.
+     */
+    public Stream<String> getLogLines(String id) {
+        HttpResponse<Stream<String>> response = client.newCloudNetCall("service/" + id + "/logLines",
+                CloudNetApiClient.jsonArrayBodyHandler(gson, "lines", String.class));
+        return readLogLines(id, response);
+    }
+
+    public CompletableFuture<Stream<String>> getLogLinesAsync(String id) {
+        return client.newCloudNetCallAsync("service/" + id + "/logLines",
+                        CloudNetApiClient.bufferedJsonArrayBodyHandler(gson, "lines", String.class))
+                .thenApply(response -> readLogLines(id, response));
+    }
+
+    private Stream<String> readLogLines(String id, HttpResponse<Stream<String>> response) {
+        if(response.statusCode() != 200)
+            throw new RuntimeException("Failed to query log lines of service " + id);
+
+        return response.body();
+    }
+
+    /**
+     * Follows the live console output of a service. Nothing is read before the subscriber requests lines.
+     */
+    public Flow.Publisher<String> followLog(String id) {
+        return new LiveLogPublisher(client, "service/" + id + "/liveLog");
+    }
+
+    public ServiceEventSubscription subscribeServiceEvents(ServiceEventListener listener) {
+        return subscribeServiceEvents(listener, DEFAULT_EVENT_BUFFER_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Opens a live event stream from the node. Cached snapshots of services that changed are dropped as their events
+     * arrive, everything is dropped after a reconnect since events may have been missed in between.
+     */
+    public ServiceEventSubscription subscribeServiceEvents(ServiceEventListener listener, int bufferSize, Executor executor) {
+        return new ServiceEventSubscription(client, gson, EVENTS_PATH, bufferSize, executor)
+                .addListener(new ServiceEventListener() {
+                    @Override
+                    public void onEvent(@NotNull ServiceEvent event) {
+                        invalidate(event.serviceId());
+                    }
+
+                    @Override
+                    public void onConnect(boolean reconnect) {
+                        if (reconnect) {
+                            invalidateAll();
+                        }
+                    }
+                })
+                .addListener(listener)
+                .open();
+    }
+
+    public void invalidate(UUID serviceId) {
+        // covers the id as well as the service name a snapshot may have been requested by
+        cache.invalidateIdentity(serviceId);
+        snapshotRequests.forget(serviceId.toString());
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        snapshotRequests.forgetAll();
+    }
+
+    public CacheStats getCacheStats() {
+        return cache.stats();
     }
 
 }
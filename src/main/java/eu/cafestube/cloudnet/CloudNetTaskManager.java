@@ -1,33 +1,218 @@
 package eu.cafestube.cloudnet;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.google.gson.Gson;
-import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import eu.cafestube.cloudnet.cache.CacheSettings;
+import eu.cafestube.cloudnet.cache.ConditionalEntry;
+import eu.cafestube.cloudnet.cache.LookupCache;
+import eu.cafestube.cloudnet.json.JsonField;
+import eu.cafestube.cloudnet.request.RequestCoalescer;
 import eu.cafestube.cloudnet.task.ServiceTask;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.ByteArrayInputStream;
+import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 public class CloudNetTaskManager {
 
-    private final Gson gson = new Gson();
+    private static final TypeToken<List<ServiceTask>> TASK_LIST = new TypeToken<>() {};
+    private static final long DEFAULT_MAX_TASK_VERSIONS = 1024;
+
+    private final Gson gson;
     private final CloudNetApiClient client;
+    private final LookupCache<ServiceTask> cache;
+    private final RequestCoalescer<ServiceTask> taskRequests = new RequestCoalescer<>();
+    private final RequestCoalescer<List<ServiceTask>> listRequests = new RequestCoalescer<>();
+
+    // validators of the last response per task, kept independently of the cache's expiry but bounded in size. Task
+    // bodies are buffered instead of streamed since revalidation hashes the whole body, task documents are small
+    private final Map<String, ConditionalEntry<ServiceTask>> taskVersions;
+    private final AtomicReference<ConditionalEntry<List<ServiceTask>>> listVersion = new AtomicReference<>();
 
     public CloudNetTaskManager(CloudNetApiClient client) {
+        this(client, null);
+    }
+
+    public CloudNetTaskManager(CloudNetApiClient client, @Nullable CacheSettings cacheSettings) {
         this.client = client;
+        this.gson = client.getGson();
+        this.cache = LookupCache.create(cacheSettings);
+        this.taskVersions = CacheBuilder.newBuilder()
+                .maximumSize(cacheSettings == null ? DEFAULT_MAX_TASK_VERSIONS : cacheSettings.maximumSize())
+                .<String, ConditionalEntry<ServiceTask>>build()
+                .asMap();
     }
 
+    /**
+     * Fetches a task, revalidating the last response instead of parsing it again if the task didn't change.
+     */
     public @Nullable ServiceTask getServiceTask(String name) {
-        HttpResponse<JsonObject> response = client.newCloudNetCall("task/" + name, CloudNetApiClient.jsonBodyHandler());
+        ServiceTask cached = cache.get(name);
+        if (cached != null) {
+            return cached;
+        }
 
-        if(response.statusCode() != 200)
-            throw new RuntimeException("Failed to get service task " + name + " from cloudnet");
+        return taskRequests.run(name, () -> {
+            long generation = cache.generation();
+            ConditionalEntry<ServiceTask> previous = taskVersions.get(name);
+            HttpResponse<byte[]> response = client.newCloudNetCall("task/" + name,
+                    ConditionalEntry.conditional(previous), HttpResponse.BodyHandlers.ofByteArray());
 
-        JsonObject data = response.body();
+            return readServiceTask(name, previous, response, generation);
+        });
+    }
+
+    public CompletableFuture<@Nullable ServiceTask> getServiceTaskAsync(String name) {
+        ServiceTask cached = cache.get(name);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
 
-        if(!data.get("success").getAsBoolean())
+        return taskRequests.runAsync(name, () -> {
+            long generation = cache.generation();
+            ConditionalEntry<ServiceTask> previous = taskVersions.get(name);
+            return client.newCloudNetCallAsync("task/" + name, ConditionalEntry.conditional(previous),
+                            HttpResponse.BodyHandlers.ofByteArray())
+                    .thenApply(response -> readServiceTask(name, previous, response, generation));
+        });
+    }
+
+    private @Nullable ServiceTask readServiceTask(String name, @Nullable ConditionalEntry<ServiceTask> previous,
+                                                  HttpResponse<byte[]> response, long generation) {
+        if(response.statusCode() != 200 && response.statusCode() != 304)
+            throw new RuntimeException("Failed to get service task " + name + " from cloudnet");
+
+        ConditionalEntry<ServiceTask> entry = ConditionalEntry.resolve(previous, response,
+                body -> readField(body, "task", gson.getAdapter(ServiceTask.class)));
+        if (entry.value() == null) {
+            taskVersions.remove(name);
             return null;
+        }
+
+        // a response that raced an invalidation is returned but not remembered
+        if (cache.generation() == generation) {
+            taskVersions.put(name, entry);
+        }
+        cache.put(name, entry.value(), generation);
+        return entry.value();
+    }
+
+    /**
+     * Lists all tasks. The whole list is only parsed again if the node reports or the body hash shows a change.
+     */
+    public List<ServiceTask> getServiceTasks() {
+        return listRequests.run("", () -> {
+            long generation = cache.generation();
+            ConditionalEntry<List<ServiceTask>> previous = listVersion.get();
+            HttpResponse<byte[]> response = client.newCloudNetCall("task", ConditionalEntry.conditional(previous),
+                    HttpResponse.BodyHandlers.ofByteArray());
+
+            return readServiceTasks(previous, response, generation);
+        });
+    }
+
+    public CompletableFuture<List<ServiceTask>> getServiceTasksAsync() {
+        return listRequests.runAsync("", () -> {
+            long generation = cache.generation();
+            ConditionalEntry<List<ServiceTask>> previous = listVersion.get();
+            return client.newCloudNetCallAsync("task", ConditionalEntry.conditional(previous),
+                            HttpResponse.BodyHandlers.ofByteArray())
+                    .thenApply(response -> readServiceTasks(previous, response, generation));
+        });
+    }
+
+    private List<ServiceTask> readServiceTasks(@Nullable ConditionalEntry<List<ServiceTask>> previous,
+                                               HttpResponse<byte[]> response, long generation) {
+        if(response.statusCode() != 200 && response.statusCode() != 304)
+            throw new RuntimeException("Failed to query service tasks");
+
+        ConditionalEntry<List<ServiceTask>> entry = ConditionalEntry.resolve(previous, response, body -> {
+            List<ServiceTask> tasks = readField(body, "tasks", gson.getAdapter(TASK_LIST));
+            return tasks == null ? List.of() : List.copyOf(tasks);
+        });
+
+        if (previous == null || entry.value() != previous.value()) {
+            for (ServiceTask task : entry.value()) {
+                cache.put(task.name(), task, generation);
+            }
+        }
+        if (cache.generation() == generation) {
+            listVersion.set(entry);
+        }
+        return entry.value();
+    }
+
+    private <T> @Nullable T readField(byte[] body, String field, TypeAdapter<T> adapter) {
+        JsonField<T> data = JsonField.read(gson, new ByteArrayInputStream(body), field, adapter);
+        return data.isSuccess() ? data.value() : null;
+    }
+
+    /**
+     * Creates the task, or replaces it if a task with the same name already exists.
+     */
+    public boolean createServiceTask(ServiceTask task) {
+        HttpResponse<Void> response = client.newCloudNetCall("task", createTaskRequest(task),
+                HttpResponse.BodyHandlers.discarding());
+        invalidate(task.name());
+        return response.statusCode() == 200;
+    }
+
+    public CompletableFuture<Boolean> createServiceTaskAsync(ServiceTask task) {
+        return client.newCloudNetCallAsync("task", createTaskRequest(task), HttpResponse.BodyHandlers.discarding())
+                .thenApply(response -> {
+                    invalidate(task.name());
+                    return response.statusCode() == 200;
+                });
+    }
+
+    private Consumer<HttpRequest.Builder> createTaskRequest(ServiceTask task) {
+        return builder -> builder
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(task)));
+    }
+
+    public boolean deleteServiceTask(String name) {
+        HttpResponse<Void> response = client.newCloudNetCall("task/" + name, builder -> builder.DELETE(),
+                HttpResponse.BodyHandlers.discarding());
+        invalidate(name);
+        return response.statusCode() == 200;
+    }
+
+    public CompletableFuture<Boolean> deleteServiceTaskAsync(String name) {
+        return client.newCloudNetCallAsync("task/" + name, builder -> builder.DELETE(), HttpResponse.BodyHandlers.discarding())
+                .thenApply(response -> {
+                    invalidate(name);
+                    return response.statusCode() == 200;
+                });
+    }
+
+    public void invalidate(String name) {
+        cache.invalidate(name);
+        taskVersions.remove(name);
+        listVersion.set(null);
+        taskRequests.forget(name);
+        listRequests.forget("");
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        taskVersions.clear();
+        listVersion.set(null);
+        taskRequests.forgetAll();
+        listRequests.forgetAll();
+    }
 
-        return gson.fromJson(data.get("task"), ServiceTask.class);
+    public CacheStats getCacheStats() {
+        return cache.stats();
     }
 
 
@@ -0,0 +1,220 @@
+package eu.cafestube.cloudnet;
+
+import com.google.gson.Gson;
+import eu.cafestube.cloudnet.service.ServiceTemplate;
+import eu.cafestube.cloudnet.template.ProgressBodyPublisher;
+import eu.cafestube.cloudnet.template.ProgressBodySubscriber;
+import eu.cafestube.cloudnet.template.TemplateFile;
+import eu.cafestube.cloudnet.template.TransferProgress;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Moves template contents between the node's template storages and the local disk. Transfers are streamed from and
+ * to files, nothing is held on the heap as a whole.
+ */
+public class CloudNetTemplateManager {
+
+    private final Gson gson;
+    private final CloudNetApiClient client;
+
+    public CloudNetTemplateManager(CloudNetApiClient client) {
+        this.client = client;
+        this.gson = client.getGson();
+    }
+
+    /**
+     * Lists the files below {@code directory} of a template. The stream is read lazily and should be closed if it
+     * isn't consumed completely.
+     */
+    public Stream<TemplateFile> listFiles(ServiceTemplate template, String directory, boolean deep) {
+        HttpResponse<Stream<TemplateFile>> response = client.newCloudNetCall(
+                templatePath(template, "directory/list") + "?directory=" + encode(directory) + "&deep=" + deep,
+                CloudNetApiClient.jsonArrayBodyHandler(gson, "files", TemplateFile.class));
+
+        if(response.statusCode() != 200)
+            throw new RuntimeException("Failed to list files of template " + template.prefix() + "/" + template.name());
+
+        return response.body();
+    }
+
+    /**
+     * Downloads the whole template as a zip to {@code target}.
+     */
+    public Path downloadTemplate(ServiceTemplate template, Path target, @Nullable TransferProgress progress) {
+        return download(templatePath(template, "download"), target, false, progress);
+    }
+
+    public CompletableFuture<Path> downloadTemplateAsync(ServiceTemplate template, Path target, @Nullable TransferProgress progress) {
+        return downloadAsync(templatePath(template, "download"), target, false, progress);
+    }
+
+    /**
+     * Downloads a single file of a template to {@code target}. With {@code resume} set, an existing partial
+     * {@code target} is continued with a range request. Nodes ignoring the range send the whole file again, which then
+     * replaces {@code target}.
+     */
+    public Path downloadFile(ServiceTemplate template, String path, Path target, boolean resume, @Nullable TransferProgress progress) {
+        return download(templatePath(template, "file/download") + "?path=" + encode(path), target, resume, progress);
+    }
+
+    public CompletableFuture<Path> downloadFileAsync(ServiceTemplate template, String path, Path target, boolean resume,
+                                                     @Nullable TransferProgress progress) {
+        return downloadAsync(templatePath(template, "file/download") + "?path=" + encode(path), target, resume, progress);
+    }
+
+    /**
+     * Opens the template zip as a stream, for callers that unpack or forward it without touching the disk.
+     */
+    public InputStream openTemplate(ServiceTemplate template) {
+        HttpResponse<InputStream> response = client.newCloudNetCall(templatePath(template, "download"),
+                HttpResponse.BodyHandlers.ofInputStream());
+
+        if(response.statusCode() != 200) {
+            closeQuietly(response.body());
+            throw new RuntimeException("Failed to download template " + template.prefix() + "/" + template.name());
+        }
+
+        return response.body();
+    }
+
+    /**
+     * Replaces the contents of a template with the given zip.
+     */
+    public boolean deployTemplate(ServiceTemplate template, Path zip, @Nullable TransferProgress progress) {
+        HttpResponse<Void> response = client.newCloudNetCall(templatePath(template, "deploy"),
+                deployRequest(ofFile(zip), progress), HttpResponse.BodyHandlers.discarding());
+        return response.statusCode() == 200;
+    }
+
+    public CompletableFuture<Boolean> deployTemplateAsync(ServiceTemplate template, Path zip, @Nullable TransferProgress progress) {
+        HttpRequest.BodyPublisher body;
+        try {
+            body = ofFile(zip);
+        } catch (UncheckedIOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return client.newCloudNetCallAsync(templatePath(template, "deploy"), deployRequest(body, progress),
+                        HttpResponse.BodyHandlers.discarding())
+                .thenApply(response -> response.statusCode() == 200);
+    }
+
+    /**
+     * Replaces the contents of a template with a zip read from {@code zip}. The stream is opened when the request is
+     * sent.
+     */
+    public boolean deployTemplate(ServiceTemplate template, Supplier<? extends InputStream> zip, @Nullable TransferProgress progress) {
+        HttpResponse<Void> response = client.newCloudNetCall(templatePath(template, "deploy"),
+                deployRequest(HttpRequest.BodyPublishers.ofInputStream(zip), progress), HttpResponse.BodyHandlers.discarding());
+        return response.statusCode() == 200;
+    }
+
+    private Path download(String path, Path target, boolean resume, @Nullable TransferProgress progress) {
+        long offset = resumeOffset(target, resume);
+        HttpResponse<Path> response = client.newCloudNetCall(path, rangeRequest(offset), fileHandler(target, offset, progress));
+        return readDownload(path, response);
+    }
+
+    private CompletableFuture<Path> downloadAsync(String path, Path target, boolean resume, @Nullable TransferProgress progress) {
+        long offset = resumeOffset(target, resume);
+        return client.newCloudNetCallAsync(path, rangeRequest(offset), fileHandler(target, offset, progress))
+                .thenApply(response -> readDownload(path, response));
+    }
+
+    private long resumeOffset(Path target, boolean resume) {
+        try {
+            return resume && Files.isRegularFile(target) ? Files.size(target) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private Consumer<HttpRequest.Builder> rangeRequest(long offset) {
+        return builder -> {
+            if (offset > 0) {
+                builder.header("Range", "bytes=" + offset + "-");
+            }
+        };
+    }
+
+    private HttpResponse.BodyHandler<Path> fileHandler(Path target, long offset, @Nullable TransferProgress progress) {
+        HttpResponse.BodyHandler<Path> handler = responseInfo -> switch (responseInfo.statusCode()) {
+            case 200 -> HttpResponse.BodySubscribers.ofFile(target,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            // only append if the node continues exactly where the partial file ends
+            case 206 -> offset > 0 && responseInfo.headers().firstValue("Content-Range").orElse("").startsWith("bytes " + offset + "-")
+                    ? appendFrom(target, offset)
+                    : HttpResponse.BodySubscribers.replacing(null);
+            // the partial file is already complete
+            case 416 -> HttpResponse.BodySubscribers.replacing(offset > 0 ? target : null);
+            default -> HttpResponse.BodySubscribers.replacing(null);
+        };
+        return progress == null ? handler : ProgressBodySubscriber.wrap(handler, progress);
+    }
+
+    private static HttpResponse.BodySubscriber<Path> appendFrom(Path target, long offset) {
+        // a failed attempt may already have appended to the file, cut it back so a retry doesn't duplicate bytes
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE)) {
+            channel.truncate(offset);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return HttpResponse.BodySubscribers.ofFile(target, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Path readDownload(String path, HttpResponse<Path> response) {
+        if (response.body() == null) {
+            throw new RuntimeException("Failed to download " + path + ", node responded with " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private Consumer<HttpRequest.Builder> deployRequest(HttpRequest.BodyPublisher body, @Nullable TransferProgress progress) {
+        HttpRequest.BodyPublisher publisher = progress == null ? body : ProgressBodyPublisher.wrap(body, progress);
+        return builder -> builder
+                .header("Content-Type", "application/zip")
+                .POST(publisher);
+    }
+
+    private static HttpRequest.BodyPublisher ofFile(Path zip) {
+        try {
+            return HttpRequest.BodyPublishers.ofFile(zip);
+        } catch (FileNotFoundException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String templatePath(ServiceTemplate template, String action) {
+        return "template/" + encode(template.storage()) + "/" + encode(template.prefix()) + "/" + encode(template.name())
+                + "/" + action;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+}
@@ -0,0 +1,5 @@
+package eu.cafestube.cloudnet;
+
+public enum LoadBalancing {
+    ROUND_ROBIN, LEAST_LATENCY
+}
@@ -0,0 +1,54 @@
+package eu.cafestube.cloudnet.auth;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+public record CloudNetToken(
+        @NotNull String token,
+        @Nullable Instant expiresAt
+) {
+
+    public static @NotNull CloudNetToken fromResponse(@NotNull JsonObject response) {
+        String token = response.get("token").getAsString();
+
+        JsonElement expiresAt = response.get("expiresAt");
+        if (expiresAt != null && expiresAt.isJsonPrimitive()) {
+            return new CloudNetToken(token, Instant.ofEpochMilli(expiresAt.getAsLong()));
+        }
+
+        return new CloudNetToken(token, readJwtExpiry(token));
+    }
+
+    // the node hands out JWTs, so fall back to the exp claim when the response doesn't carry the expiry itself
+    private static @Nullable Instant readJwtExpiry(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length != 3) {
+            return null;
+        }
+
+        try {
+            String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+            JsonElement exp = JsonParser.parseString(payload).getAsJsonObject().get("exp");
+            return exp == null ? null : Instant.ofEpochSecond(exp.getAsLong());
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    public boolean isExpired() {
+        return this.expiresAt != null && !Instant.now().isBefore(this.expiresAt);
+    }
+
+    public boolean expiresWithin(@NotNull Duration duration) {
+        return this.expiresAt != null && !Instant.now().plus(duration).isBefore(this.expiresAt);
+    }
+
+}
@@ -0,0 +1,403 @@
+package eu.cafestube.cloudnet.autoscale;
+
+import com.google.common.base.Preconditions;
+import eu.cafestube.cloudnet.CloudNetApiClient;
+import eu.cafestube.cloudnet.CloudNetServiceManager;
+import eu.cafestube.cloudnet.CloudNetTaskManager;
+import eu.cafestube.cloudnet.registry.ServiceRegistry;
+import eu.cafestube.cloudnet.service.LifecycleUpdate;
+import eu.cafestube.cloudnet.service.result.BatchLifecycleUpdateResult;
+import eu.cafestube.cloudnet.service.result.ServiceCreateResult;
+import eu.cafestube.cloudnet.service.status.ServiceInfoSnapshot;
+import eu.cafestube.cloudnet.service.status.ServiceLifeCycle;
+import eu.cafestube.cloudnet.util.PeriodicTask;
+import eu.cafestube.cloudnet.util.ServiceSnapshots;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static eu.cafestube.cloudnet.util.ServiceSnapshots.idOf;
+import static eu.cafestube.cloudnet.util.ServiceSnapshots.idsOf;
+
+/**
+ * Periodically sizes tasks according to their {@link ScalingPolicy}.
+ * <p>
+ * Each evaluation compares the policy's target with the running services of a task and issues at most
+ * {@link ScalingSettings#maxBatchSize()} actions per direction as one batch: prepared services from the warm pool are
+ * started first, the remainder is created. Scaling down stops the most recently connected services. A task is not
+ * evaluated again while its previous batch is in flight, and the cooldowns and tolerance of its settings keep it from
+ * flapping around the target.
+ * <p>
+ * Services the autoscaler created, started or stopped are remembered until the service view reflects the change, so a
+ * lagging {@link ServiceRegistry} or cache doesn't cause the same action to be issued twice.
+ */
+public final class Autoscaler implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(Autoscaler.class.getName());
+    private static final Duration PENDING_TIMEOUT = Duration.ofMinutes(2);
+
+    private final CloudNetServiceManager serviceManager;
+    private final CloudNetTaskManager taskManager;
+    private final @Nullable ServiceRegistry registry;
+    private final Map<String, ScaledTask> tasks;
+    private final PeriodicTask evaluation;
+    private final int parallelism;
+    private final List<Consumer<ScalingDecision>> listeners = new CopyOnWriteArrayList<>();
+
+    private Autoscaler(Builder builder) {
+        this.serviceManager = builder.client.getServiceManager();
+        this.taskManager = builder.client.getTaskManager();
+        this.registry = builder.registry;
+        this.tasks = Map.copyOf(builder.tasks);
+        this.evaluation = new PeriodicTask(this::evaluate, builder.interval, builder.scheduler, "cloudnet-autoscaler-%d");
+        this.parallelism = builder.parallelism;
+    }
+
+    public static @NotNull Builder builder(@NotNull CloudNetApiClient client) {
+        return new Builder(client);
+    }
+
+    /**
+     * Starts evaluating all tasks every {@code interval}.
+     */
+    public synchronized void start() {
+        Preconditions.checkState(!this.evaluation.isStarted(), "Autoscaler already started");
+        this.evaluation.start();
+    }
+
+    @Override
+    public synchronized void close() {
+        this.evaluation.close();
+    }
+
+    public void addListener(@NotNull Consumer<ScalingDecision> listener) {
+        this.listeners.add(listener);
+    }
+
+    public void removeListener(@NotNull Consumer<ScalingDecision> listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Evaluates every task once and issues the resulting actions, which complete in the background. Tasks whose
+     * previous batch is still in flight or whose evaluation failed are left out of the result.
+     */
+    public @NotNull List<ScalingDecision> evaluate() {
+        Map<String, List<ServiceInfoSnapshot>> listing;
+        try {
+            listing = listServices();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Failed to list services", e);
+            return List.of();
+        }
+
+        List<ScalingDecision> decisions = new ArrayList<>(this.tasks.size());
+        for (ScaledTask task : this.tasks.values()) {
+            try {
+                ScalingDecision decision = evaluate(task, listing);
+                if (decision != null) {
+                    decisions.add(decision);
+                }
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Failed to evaluate task " + task.name, e);
+            }
+        }
+        return decisions;
+    }
+
+    private @Nullable ScalingDecision evaluate(ScaledTask task, @Nullable Map<String, List<ServiceInfoSnapshot>> listing) {
+        if (!task.inFlight.compareAndSet(false, true)) {
+            return null;
+        }
+
+        ScalingDecision decision;
+        try {
+            ScalingContext context = new ScalingContext(task.name, this.taskManager.getServiceTask(task.name),
+                    task.reconcile(loadServices(task.name, listing)));
+            ScalingSettings settings = task.settings;
+
+            List<ServiceInfoSnapshot> running = new ArrayList<>(context.running());
+            List<ServiceInfoSnapshot> prepared = new ArrayList<>(context.prepared());
+            int desired = Math.max(settings.minServices(),
+                    Math.min(settings.maxServices(), task.policy.desiredServices(context)));
+
+            long now = System.nanoTime();
+            int start = 0;
+            int create = 0;
+            int stop = 0;
+            if (desired > running.size() && task.cooledDown(now, settings.scaleUpCooldown())) {
+                int missing = Math.min(desired - running.size(), settings.maxBatchSize());
+                start = Math.min(missing, prepared.size());
+                create = missing - start;
+            } else if (running.size() - desired > settings.tolerance() && task.cooledDown(now, settings.scaleDownCooldown())) {
+                stop = Math.min(running.size() - desired, settings.maxBatchSize());
+            }
+            int prepare = Math.min(Math.max(0, settings.warmPoolSize() - (prepared.size() - start)), settings.maxBatchSize());
+
+            decision = new ScalingDecision(task.name, running.size(), prepared.size(), desired,
+                    start, create, prepare, stop);
+            if (decision.isNoop()) {
+                task.inFlight.set(false);
+                return decision;
+            }
+
+            if (start + create + stop > 0) {
+                task.lastScale = now;
+                task.scaled = true;
+            }
+
+            // the oldest prepared services are handed out first, the newest running ones are the first to go
+            prepared.sort(Comparator.comparingLong(ServiceInfoSnapshot::creationTime));
+            running.sort(Comparator.comparingLong(ServiceInfoSnapshot::connectedTime).reversed());
+
+            // from here on only the completion of the batch clears the in-flight flag
+            apply(task, prepared.subList(0, start), create, prepare, running.subList(0, stop))
+                    .whenComplete((ignored, throwable) -> {
+                        if (throwable != null) {
+                            LOGGER.log(Level.WARNING, "Failed to scale task " + task.name, throwable);
+                        }
+                        task.inFlight.set(false);
+                    });
+        } catch (RuntimeException e) {
+            task.inFlight.set(false);
+            throw e;
+        }
+
+        for (Consumer<ScalingDecision> listener : this.listeners) {
+            try {
+                listener.accept(decision);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Scaling listener failed for task " + task.name, e);
+            }
+        }
+        return decision;
+    }
+
+    private CompletableFuture<Void> apply(ScaledTask task, List<ServiceInfoSnapshot> start, int create, int prepare,
+                                          List<ServiceInfoSnapshot> stop) {
+        List<CompletableFuture<?>> actions = new ArrayList<>(4);
+        if (!start.isEmpty()) {
+            task.expect(start, ServiceLifeCycle.RUNNING);
+            actions.add(this.serviceManager.updateServiceStatesAsync(LifecycleUpdate.START, idsOf(start), this.parallelism)
+                    .thenAccept(result -> logFailures(task, result)));
+        }
+        if (!stop.isEmpty()) {
+            task.expect(stop, ServiceLifeCycle.STOPPED);
+            actions.add(this.serviceManager.updateServiceStatesAsync(LifecycleUpdate.STOP, idsOf(stop), this.parallelism)
+                    .thenAccept(result -> logFailures(task, result)));
+        }
+        if (create > 0) {
+            actions.add(this.serviceManager.createServicesAsync(task.name, create, true, this.parallelism)
+                    .thenAccept(results -> task.expectCreated(results, ServiceLifeCycle.RUNNING)));
+        }
+        if (prepare > 0) {
+            actions.add(this.serviceManager.createServicesAsync(task.name, prepare, false, this.parallelism)
+                    .thenAccept(results -> task.expectCreated(results, ServiceLifeCycle.PREPARED)));
+        }
+        return CompletableFuture.allOf(actions.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Fetches the services of all scaled tasks with a single request, or returns {@code null} if they are read from the
+     * registry.
+     */
+    private @Nullable Map<String, List<ServiceInfoSnapshot>> listServices() {
+        if (this.registry != null) {
+            return null;
+        }
+
+        Map<String, List<ServiceInfoSnapshot>> listing = new HashMap<>();
+        try (Stream<ServiceInfoSnapshot> services = this.serviceManager.getServices()) {
+            services.forEach(service -> {
+                String taskName = service.configuration().serviceId().taskName();
+                if (this.tasks.containsKey(taskName)) {
+                    listing.computeIfAbsent(taskName, name -> new ArrayList<>()).add(service);
+                }
+            });
+        }
+        return listing;
+    }
+
+    private List<ServiceInfoSnapshot> loadServices(String taskName, @Nullable Map<String, List<ServiceInfoSnapshot>> listing) {
+        if (listing == null) {
+            return this.registry.getServicesByTask(taskName);
+        }
+        return listing.getOrDefault(taskName, List.of());
+    }
+
+    private static void logFailures(ScaledTask task, BatchLifecycleUpdateResult result) {
+        if (!result.isSuccess()) {
+            LOGGER.warning(result.failures().size() + " of " + result.results().size() + " " + result.update()
+                    + " updates failed for task " + task.name);
+        }
+    }
+
+    private static final class ScaledTask {
+
+        private final String name;
+        private final ScalingPolicy policy;
+        private final ScalingSettings settings;
+        private final AtomicBoolean inFlight = new AtomicBoolean();
+        private final Map<UUID, Pending> pending = new ConcurrentHashMap<>();
+        private volatile long lastScale;
+        private volatile boolean scaled;
+
+        private ScaledTask(String name, ScalingPolicy policy, ScalingSettings settings) {
+            this.name = name;
+            this.policy = policy;
+            this.settings = settings;
+        }
+
+        private boolean cooledDown(long now, Duration cooldown) {
+            return !this.scaled || now - this.lastScale >= cooldown.toNanos();
+        }
+
+        private void expect(List<ServiceInfoSnapshot> services, ServiceLifeCycle lifeCycle) {
+            long now = System.nanoTime();
+            for (ServiceInfoSnapshot service : services) {
+                this.pending.put(idOf(service), new Pending(service, lifeCycle, now));
+            }
+        }
+
+        private void expectCreated(List<ServiceCreateResult> results, ServiceLifeCycle lifeCycle) {
+            List<ServiceInfoSnapshot> created = ServiceSnapshots.created(results);
+            int failed = results.size() - created.size();
+
+            expect(created, lifeCycle);
+            if (failed > 0) {
+                LOGGER.warning(failed + " of " + results.size() + " services of task " + this.name + " couldn't be created");
+            }
+        }
+
+        /**
+         * Overlays the outstanding actions on the fetched services and forgets those the view already reflects.
+         */
+        private List<ServiceInfoSnapshot> reconcile(List<ServiceInfoSnapshot> services) {
+            if (this.pending.isEmpty()) {
+                return services;
+            }
+
+            long now = System.nanoTime();
+            this.pending.values().removeIf(entry -> now - entry.since >= PENDING_TIMEOUT.toNanos());
+
+            List<ServiceInfoSnapshot> result = new ArrayList<>(services.size() + this.pending.size());
+            Set<UUID> seen = new HashSet<>();
+            for (ServiceInfoSnapshot service : services) {
+                UUID id = idOf(service);
+                seen.add(id);
+
+                Pending entry = this.pending.get(id);
+                if (entry == null || reached(service.lifeCycle(), entry.lifeCycle)) {
+                    this.pending.remove(id);
+                    result.add(service);
+                } else {
+                    result.add(withLifeCycle(service, entry.lifeCycle));
+                }
+            }
+
+            for (Map.Entry<UUID, Pending> entry : this.pending.entrySet()) {
+                if (seen.contains(entry.getKey())) {
+                    continue;
+                }
+                if (entry.getValue().lifeCycle == ServiceLifeCycle.STOPPED) {
+                    // stopped and already gone from the view
+                    this.pending.remove(entry.getKey());
+                } else {
+                    result.add(withLifeCycle(entry.getValue().snapshot, entry.getValue().lifeCycle));
+                }
+            }
+            return result;
+        }
+
+        private static boolean reached(ServiceLifeCycle actual, ServiceLifeCycle expected) {
+            return actual == expected || (expected == ServiceLifeCycle.STOPPED && actual == ServiceLifeCycle.DELETED);
+        }
+
+        private static ServiceInfoSnapshot withLifeCycle(ServiceInfoSnapshot snapshot, ServiceLifeCycle lifeCycle) {
+            return new ServiceInfoSnapshot(snapshot.creationTime(), snapshot.address(), snapshot.configuration(),
+                    snapshot.connectedTime(), snapshot.processSnapshot(), lifeCycle, snapshot.properties());
+        }
+
+    }
+
+    private record Pending(ServiceInfoSnapshot snapshot, ServiceLifeCycle lifeCycle, long since) {
+    }
+
+    public static class Builder {
+
+        private final CloudNetApiClient client;
+        private final Map<String, ScaledTask> tasks = new LinkedHashMap<>();
+        private ServiceRegistry registry;
+        private Duration interval = Duration.ofSeconds(10);
+        private ScheduledExecutorService scheduler;
+        private int parallelism = CloudNetServiceManager.DEFAULT_BATCH_PARALLELISM;
+
+        private Builder(CloudNetApiClient client) {
+            this.client = client;
+        }
+
+        public @NotNull Builder task(@NotNull String taskName, @NotNull ScalingPolicy policy) {
+            return task(taskName, policy, ScalingSettings.defaults());
+        }
+
+        public @NotNull Builder task(@NotNull String taskName, @NotNull ScalingPolicy policy, @NotNull ScalingSettings settings) {
+            this.tasks.put(taskName, new ScaledTask(taskName, policy, settings));
+            return this;
+        }
+
+        /**
+         * Reads services from a running registry instead of querying the node on every evaluation.
+         */
+        public @NotNull Builder registry(@Nullable ServiceRegistry registry) {
+            this.registry = registry;
+            return this;
+        }
+
+        public @NotNull Builder interval(@NotNull Duration interval) {
+            this.interval = interval;
+            return this;
+        }
+
+        /**
+         * Runs evaluations on the given scheduler, which is left running on {@link Autoscaler#close()}. Without one
+         * the autoscaler uses its own single daemon thread.
+         */
+        public @NotNull Builder scheduler(@Nullable ScheduledExecutorService scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        public @NotNull Builder parallelism(int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        public @NotNull Autoscaler build() {
+            Preconditions.checkArgument(!this.tasks.isEmpty(), "no task given");
+            Preconditions.checkArgument(this.interval.toMillis() > 0, "interval must be positive");
+            Preconditions.checkArgument(this.parallelism > 0, "parallelism must be positive");
+
+            return new Autoscaler(this);
+        }
+    }
+
+}
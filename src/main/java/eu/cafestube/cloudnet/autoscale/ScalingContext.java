@@ -0,0 +1,107 @@
+package eu.cafestube.cloudnet.autoscale;
+
+import com.google.gson.JsonElement;
+import eu.cafestube.cloudnet.service.status.ProcessSnapshot;
+import eu.cafestube.cloudnet.service.status.ServiceInfoSnapshot;
+import eu.cafestube.cloudnet.service.status.ServiceLifeCycle;
+import eu.cafestube.cloudnet.task.ServiceTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * State of one task as seen by a {@link ScalingPolicy} during an evaluation.
+ */
+public record ScalingContext(
+        @NotNull String taskName,
+        @Nullable ServiceTask task,
+        @NotNull List<ServiceInfoSnapshot> services
+) {
+
+    public @NotNull List<ServiceInfoSnapshot> running() {
+        return byLifeCycle(ServiceLifeCycle.RUNNING);
+    }
+
+    public @NotNull List<ServiceInfoSnapshot> prepared() {
+        return byLifeCycle(ServiceLifeCycle.PREPARED);
+    }
+
+    public int runningCount() {
+        return count(ServiceLifeCycle.RUNNING);
+    }
+
+    public int preparedCount() {
+        return count(ServiceLifeCycle.PREPARED);
+    }
+
+    /**
+     * The task's {@code minServiceCount}, or {@code 0} if the task is unknown.
+     */
+    public int minServiceCount() {
+        return this.task == null ? 0 : this.task.minServiceCount();
+    }
+
+    /**
+     * Average {@link ProcessSnapshot#cpuUsage()} of the running services, {@code 0} without any.
+     */
+    public double averageCpuUsage() {
+        double total = 0;
+        int count = 0;
+        for (ServiceInfoSnapshot service : this.services) {
+            if (service.lifeCycle() == ServiceLifeCycle.RUNNING && service.processSnapshot() != null) {
+                total += service.processSnapshot().cpuUsage();
+                count++;
+            }
+        }
+        return count == 0 ? 0 : total / count;
+    }
+
+    /**
+     * Highest ratio of used to maximum heap among the running services, {@code 0} without any.
+     */
+    public double maxHeapUsage() {
+        double max = 0;
+        for (ServiceInfoSnapshot service : this.services) {
+            ProcessSnapshot process = service.processSnapshot();
+            if (service.lifeCycle() == ServiceLifeCycle.RUNNING && process != null && process.maxHeapMemory() > 0) {
+                max = Math.max(max, (double) process.heapUsageMemory() / process.maxHeapMemory());
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Sum of a numeric service property over the running services, e.g. {@code sumProperty("Online-Count")}.
+     * Services without the property count as {@code 0}.
+     */
+    public long sumProperty(@NotNull String key) {
+        long total = 0;
+        for (ServiceInfoSnapshot service : this.services) {
+            if (service.lifeCycle() != ServiceLifeCycle.RUNNING || service.properties() == null) {
+                continue;
+            }
+
+            JsonElement value = service.properties().get(key);
+            if (value != null && value.isJsonPrimitive() && value.getAsJsonPrimitive().isNumber()) {
+                total += value.getAsLong();
+            }
+        }
+        return total;
+    }
+
+    private List<ServiceInfoSnapshot> byLifeCycle(ServiceLifeCycle lifeCycle) {
+        return this.services.stream().filter(service -> service.lifeCycle() == lifeCycle).toList();
+    }
+
+    private int count(ServiceLifeCycle lifeCycle) {
+        int count = 0;
+        for (ServiceInfoSnapshot service : this.services) {
+            if (service.lifeCycle() == lifeCycle) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+}
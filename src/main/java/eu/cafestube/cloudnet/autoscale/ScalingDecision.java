@@ -0,0 +1,25 @@
+package eu.cafestube.cloudnet.autoscale;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Outcome of one evaluation of a task. {@code start} prepared services were started, {@code create} services were
+ * created and started, {@code prepare} services were created for the warm pool and {@code stop} services were
+ * stopped.
+ */
+public record ScalingDecision(
+        @NotNull String taskName,
+        int running,
+        int prepared,
+        int desired,
+        int start,
+        int create,
+        int prepare,
+        int stop
+) {
+
+    public boolean isNoop() {
+        return this.start == 0 && this.create == 0 && this.prepare == 0 && this.stop == 0;
+    }
+
+}
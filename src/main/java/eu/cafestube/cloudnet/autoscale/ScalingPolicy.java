@@ -0,0 +1,64 @@
+package eu.cafestube.cloudnet.autoscale;
+
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Computes how many services of a task should be running. Policies only state a target, cooldowns, hysteresis and
+ * batching are applied by the {@link Autoscaler}.
+ */
+@FunctionalInterface
+public interface ScalingPolicy {
+
+    int desiredServices(@NotNull ScalingContext context);
+
+    /**
+     * Keeps the task's {@code minServiceCount} running.
+     */
+    static @NotNull ScalingPolicy minServiceCount() {
+        return ScalingContext::minServiceCount;
+    }
+
+    /**
+     * Sizes the task so the average CPU usage of its services approaches {@code targetUsage}, in the unit of
+     * {@code ProcessSnapshot.cpuUsage()}.
+     */
+    static @NotNull ScalingPolicy cpu(double targetUsage) {
+        Preconditions.checkArgument(targetUsage > 0, "targetUsage must be positive");
+        return context -> {
+            int running = context.runningCount();
+            if (running == 0) {
+                return 0;
+            }
+            return (int) Math.ceil(running * context.averageCpuUsage() / targetUsage);
+        };
+    }
+
+    /**
+     * Sizes the task by a numeric load property, e.g. {@code load("Online-Count", 40, 10)} keeps one service per 40
+     * players plus room for another 10.
+     */
+    static @NotNull ScalingPolicy load(@NotNull String property, int perService, int headroom) {
+        Preconditions.checkArgument(perService > 0, "perService must be positive");
+        Preconditions.checkArgument(headroom >= 0, "headroom must not be negative");
+        return context -> (int) Math.ceil((double) (context.sumProperty(property) + headroom) / perService);
+    }
+
+    /**
+     * The largest target of the given policies, so each of them is satisfied.
+     */
+    static @NotNull ScalingPolicy max(@NotNull ScalingPolicy... policies) {
+        List<ScalingPolicy> copy = List.of(policies);
+        Preconditions.checkArgument(!copy.isEmpty(), "no policy given");
+        return context -> {
+            int desired = 0;
+            for (ScalingPolicy policy : copy) {
+                desired = Math.max(desired, policy.desiredServices(context));
+            }
+            return desired;
+        };
+    }
+
+}
@@ -0,0 +1,53 @@
+package eu.cafestube.cloudnet.autoscale;
+
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+
+/**
+ * Limits applied to the targets of a {@link ScalingPolicy}.
+ *
+ * @param minServices        lower bound of running services, regardless of the policy
+ * @param maxServices        upper bound of running services, regardless of the policy
+ * @param tolerance          how far the target may fall below the running count before scaling down
+ * @param scaleUpCooldown    minimum time between the last scale action and scaling up
+ * @param scaleDownCooldown  minimum time between the last scale action and scaling down
+ * @param warmPoolSize       services kept in {@code PREPARED} so scaling up only needs to start them
+ * @param maxBatchSize       upper bound of services started, created or stopped in one evaluation
+ */
+public record ScalingSettings(
+        int minServices,
+        int maxServices,
+        int tolerance,
+        @NotNull Duration scaleUpCooldown,
+        @NotNull Duration scaleDownCooldown,
+        int warmPoolSize,
+        int maxBatchSize
+) {
+
+    public ScalingSettings {
+        Preconditions.checkArgument(minServices >= 0, "minServices must not be negative");
+        Preconditions.checkArgument(maxServices >= minServices, "maxServices must not be below minServices");
+        Preconditions.checkArgument(tolerance >= 0, "tolerance must not be negative");
+        Preconditions.checkArgument(!scaleUpCooldown.isNegative(), "scaleUpCooldown must not be negative");
+        Preconditions.checkArgument(!scaleDownCooldown.isNegative(), "scaleDownCooldown must not be negative");
+        Preconditions.checkArgument(warmPoolSize >= 0, "warmPoolSize must not be negative");
+        Preconditions.checkArgument(maxBatchSize > 0, "maxBatchSize must be positive");
+    }
+
+    public static @NotNull ScalingSettings defaults() {
+        return new ScalingSettings(0, Integer.MAX_VALUE, 1, Duration.ofSeconds(30), Duration.ofMinutes(5), 0, 10);
+    }
+
+    public @NotNull ScalingSettings withWarmPoolSize(int warmPoolSize) {
+        return new ScalingSettings(this.minServices, this.maxServices, this.tolerance, this.scaleUpCooldown,
+                this.scaleDownCooldown, warmPoolSize, this.maxBatchSize);
+    }
+
+    public @NotNull ScalingSettings withBounds(int minServices, int maxServices) {
+        return new ScalingSettings(minServices, maxServices, this.tolerance, this.scaleUpCooldown,
+                this.scaleDownCooldown, this.warmPoolSize, this.maxBatchSize);
+    }
+
+}
@@ -0,0 +1,22 @@
+package eu.cafestube.cloudnet.cache;
+
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+
+public record CacheSettings(
+        @NotNull Duration expireAfterWrite,
+        long maximumSize
+) {
+
+    public CacheSettings {
+        Preconditions.checkArgument(!expireAfterWrite.isNegative() && !expireAfterWrite.isZero(), "expireAfterWrite must be positive");
+        Preconditions.checkArgument(maximumSize > 0, "maximumSize must be positive");
+    }
+
+    public static @NotNull CacheSettings of(@NotNull Duration expireAfterWrite, long maximumSize) {
+        return new CacheSettings(expireAfterWrite, maximumSize);
+    }
+
+}
@@ -0,0 +1,67 @@
+package eu.cafestube.cloudnet.cache;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A decoded response body together with the validators it was served with. Revalidating an entry either gets a
+ * {@code 304} from the node or, if the node doesn't send validators, a body whose hash is compared with the stored
+ * one, so an unchanged resource is never parsed twice.
+ */
+public record ConditionalEntry<V>(
+        @Nullable String etag,
+        @Nullable String lastModified,
+        @NotNull HashCode contentHash,
+        V value
+) {
+
+    public static @NotNull HashCode hash(byte @NotNull [] body) {
+        return Hashing.murmur3_128().hashBytes(body);
+    }
+
+    /**
+     * Adds the validators of {@code entry} to a request, does nothing without an entry.
+     */
+    public static @NotNull Consumer<HttpRequest.Builder> conditional(@Nullable ConditionalEntry<?> entry) {
+        return builder -> {
+            if (entry == null) {
+                return;
+            }
+            if (entry.etag() != null) {
+                builder.header("If-None-Match", entry.etag());
+            }
+            if (entry.lastModified() != null) {
+                builder.header("If-Modified-Since", entry.lastModified());
+            }
+        };
+    }
+
+    /**
+     * Resolves a response to a conditional request. Returns {@code previous} if the node answered {@code 304} or the
+     * body hashes the same, otherwise decodes the body with {@code decoder}.
+     */
+    public static <V> @NotNull ConditionalEntry<V> resolve(@Nullable ConditionalEntry<V> previous,
+                                                           @NotNull HttpResponse<byte[]> response,
+                                                           @NotNull Function<byte[], V> decoder) {
+        String etag = response.headers().firstValue("ETag").orElse(null);
+        String lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+
+        if (previous != null && response.statusCode() == 304) {
+            return previous;
+        }
+
+        HashCode contentHash = hash(response.body());
+        if (previous != null && previous.contentHash().equals(contentHash)) {
+            return new ConditionalEntry<>(etag, lastModified, contentHash, previous.value());
+        }
+        return new ConditionalEntry<>(etag, lastModified, contentHash, decoder.apply(response.body()));
+    }
+
+}
@@ -0,0 +1,151 @@
+package eu.cafestube.cloudnet.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalCause;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Optional cache in front of a single lookup endpoint. When no settings are given every operation is a no-op,
+ * so callers don't need to branch on whether caching is enabled.
+ * <p>
+ * A value may be cached under several keys, e.g. a service under its id and its name. Caches created with an
+ * identity function index the keys by the identity of their value, so all of them can be invalidated with a single
+ * lookup.
+ * <p>
+ * Every invalidation starts a new generation. Lookups read {@link #generation()} before calling the node and store
+ * their result with {@link #put(String, Object, long)}, which drops it if an invalidation happened in between.
+ */
+public final class LookupCache<V> {
+
+    private static final CacheStats EMPTY_STATS = new CacheStats(0, 0, 0, 0, 0, 0);
+
+    private final @Nullable Cache<String, V> cache;
+    private final @Nullable Function<V, ?> identity;
+    private final Map<Object, Set<String>> keysByIdentity = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private LookupCache(@Nullable CacheSettings settings, @Nullable Function<V, ?> identity) {
+        this.identity = identity;
+        if (settings == null) {
+            this.cache = null;
+            return;
+        }
+
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
+                .expireAfterWrite(settings.expireAfterWrite())
+                .maximumSize(settings.maximumSize())
+                .recordStats();
+        this.cache = identity == null ? builder.build() : builder.<String, V>removalListener(notification -> {
+            // replacements are unindexed by put(), which knows the new value
+            if (notification.getCause() != RemovalCause.REPLACED && notification.getValue() != null) {
+                unindex(notification.getKey(), notification.getValue());
+            }
+        }).build();
+    }
+
+    public static <V> @NotNull LookupCache<V> create(@Nullable CacheSettings settings) {
+        return new LookupCache<>(settings, null);
+    }
+
+    /**
+     * Creates a cache whose entries can be invalidated by {@link #invalidateIdentity(Object)}.
+     */
+    public static <V> @NotNull LookupCache<V> create(@Nullable CacheSettings settings, @NotNull Function<V, ?> identity) {
+        return new LookupCache<>(settings, identity);
+    }
+
+    public boolean isEnabled() {
+        return this.cache != null;
+    }
+
+    public @Nullable V get(@NotNull String key) {
+        return this.cache == null ? null : this.cache.getIfPresent(key);
+    }
+
+    public void put(@NotNull String key, @Nullable V value) {
+        if (this.cache == null || value == null) {
+            return;
+        }
+
+        V previous = this.cache.asMap().put(key, value);
+        if (this.identity != null) {
+            Object id = this.identity.apply(value);
+            if (previous != null && !Objects.equals(this.identity.apply(previous), id)) {
+                unindex(key, previous);
+            }
+            if (id != null) {
+                this.keysByIdentity.computeIfAbsent(id, ignored -> ConcurrentHashMap.newKeySet()).add(key);
+            }
+        }
+    }
+
+    public long generation() {
+        return this.generation.get();
+    }
+
+    /**
+     * Caches a value loaded in the given generation, unless the cache was invalidated since.
+     */
+    public void put(@NotNull String key, @Nullable V value, long generation) {
+        if (this.generation.get() != generation) {
+            return;
+        }
+
+        put(key, value);
+        // an invalidation may have run between the check and the put
+        if (this.cache != null && this.generation.get() != generation) {
+            this.cache.invalidate(key);
+        }
+    }
+
+    public void invalidate(@NotNull String key) {
+        this.generation.incrementAndGet();
+        if (this.cache != null) {
+            this.cache.invalidate(key);
+        }
+    }
+
+    /**
+     * Invalidates every key caching a value with the given identity.
+     */
+    public void invalidateIdentity(@NotNull Object identity) {
+        this.generation.incrementAndGet();
+        Set<String> keys = this.keysByIdentity.remove(identity);
+        if (this.cache != null && keys != null) {
+            this.cache.invalidateAll(keys);
+        }
+    }
+
+    public void invalidateAll() {
+        this.generation.incrementAndGet();
+        if (this.cache != null) {
+            this.cache.invalidateAll();
+        }
+    }
+
+    private void unindex(String key, V value) {
+        Object identity = this.identity.apply(value);
+        if (identity == null) {
+            return;
+        }
+        this.keysByIdentity.computeIfPresent(identity, (id, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    public @NotNull CacheStats stats() {
+        return this.cache == null ? EMPTY_STATS : this.cache.stats();
+    }
+
+}
@@ -0,0 +1,60 @@
+package eu.cafestube.cloudnet.compact;
+
+/**
+ * Byte layout of the fixed-size records. Strings are stored as dictionary ids, {@link #NONE} marks {@code null}.
+ */
+final class CompactLayout {
+
+    static final int NONE = -1;
+
+    static final int FLAG_ADDRESS = 1;
+    static final int FLAG_PROCESS = 1 << 1;
+    static final int FLAG_CONFIGURATION = 1 << 2;
+    static final int FLAG_PROPERTIES = 1 << 3;
+    static final int FLAG_SHARED_CONFIGURATION = 1 << 4;
+
+    // service records
+    static final int UUID_MOST = 0;
+    static final int UUID_LEAST = 8;
+    static final int CREATION_TIME = 16;
+    static final int CONNECTED_TIME = 24;
+    static final int FLAGS = 32;
+    static final int LIFE_CYCLE = 36;
+    static final int TASK_NAME = 40;
+    static final int TASK_SERVICE_ID = 44;
+    static final int NODE_UNIQUE_ID = 48;
+    static final int NAME_SPLITTER = 52;
+    static final int ADDRESS_HOST = 56;
+    static final int ADDRESS_PORT = 60;
+    static final int PID = 64;
+    static final int CPU_USAGE = 72;
+    static final int SYSTEM_CPU_USAGE = 80;
+    static final int MAX_HEAP_MEMORY = 88;
+    static final int HEAP_USAGE_MEMORY = 96;
+    static final int NO_HEAP_USAGE_MEMORY = 104;
+    static final int UNLOADED_CLASS_COUNT = 112;
+    static final int TOTAL_LOADED_CLASS_COUNT = 120;
+    static final int CURRENT_LOADED_CLASS_COUNT = 128;
+    static final int THREAD_OFFSET = 132;
+    static final int THREAD_COUNT = 136;
+    static final int GROUP_OFFSET = 140;
+    static final int GROUP_COUNT = 144;
+    static final int CONFIGURATION_OFFSET = 148;
+    static final int CONFIGURATION_LENGTH = 152;
+    static final int PROPERTIES_OFFSET = 156;
+    static final int PROPERTIES_LENGTH = 160;
+    static final int CONFIGURATION_PORT = 164;
+    static final int RECORD_SIZE = 168;
+
+    // thread records
+    static final int THREAD_ID = 0;
+    static final int THREAD_NAME = 8;
+    static final int THREAD_PRIORITY = 12;
+    static final int THREAD_DAEMON = 13;
+    static final int THREAD_STATE = 14;
+    static final int THREAD_SIZE = 16;
+
+    private CompactLayout() {
+    }
+
+}
@@ -0,0 +1,398 @@
+package eu.cafestube.cloudnet.compact;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.Gson;
+import eu.cafestube.cloudnet.json.CloudNetGson;
+import eu.cafestube.cloudnet.service.ServiceConfiguration;
+import eu.cafestube.cloudnet.service.ServiceId;
+import eu.cafestube.cloudnet.service.status.ProcessSnapshot;
+import eu.cafestube.cloudnet.service.status.ServiceInfoSnapshot;
+import eu.cafestube.cloudnet.service.status.ThreadSnapshot;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static eu.cafestube.cloudnet.compact.CompactLayout.*;
+
+/**
+ * Immutable, compact encoding of a collection of {@link ServiceInfoSnapshot}s for bulk storage.
+ * <p>
+ * Every service occupies one fixed-size record in a single buffer, threads one small record each in a second one.
+ * Strings such as task, node, group and thread names are interned into a shared dictionary and referenced by id. The
+ * parts that are rarely read, the full configuration and the properties, are kept as UTF-8 JSON and only bound on
+ * access. Configurations are stored without their per-service values, which live in the record, so services of the
+ * same task share a single configuration blob including its groups, allowed nodes, templates and deployments.
+ * Identical blobs are only stored once. Buffers can be allocated off-heap, which leaves little more than the
+ * dictionary on the heap.
+ * <p>
+ * Records are read through {@link CompactServiceView} flyweights, {@link #forEach(Consumer)} walks all of them with a
+ * single instance. Instances can be written to and read from disk.
+ */
+public final class CompactServiceSnapshots {
+
+    private static final int MAGIC = 0x434E5353;
+    private static final int VERSION = 2;
+    private static final UUID SHARED_ID = new UUID(0, 0);
+
+    static final Gson GSON = CloudNetGson.create();
+
+    private final int size;
+    private final String[] strings;
+    final ByteBuffer records;
+    final ByteBuffer threads;
+    final ByteBuffer groups;
+    final ByteBuffer blobs;
+    // record indices ordered by unique id, for lookups by binary search
+    private final int[] order;
+
+    private CompactServiceSnapshots(int size, String[] strings, ByteBuffer records, ByteBuffer threads,
+                                    ByteBuffer groups, ByteBuffer blobs) {
+        this.size = size;
+        this.strings = strings;
+        this.records = records;
+        this.threads = threads;
+        this.groups = groups;
+        this.blobs = blobs;
+        this.order = sortById();
+    }
+
+    public static @NotNull CompactServiceSnapshots of(@NotNull Collection<ServiceInfoSnapshot> snapshots) {
+        return of(snapshots, false);
+    }
+
+    /**
+     * Encodes the snapshots, with {@code direct} set the buffers are allocated off-heap.
+     */
+    public static @NotNull CompactServiceSnapshots of(@NotNull Collection<ServiceInfoSnapshot> snapshots, boolean direct) {
+        int threadCount = 0;
+        int groupCount = 0;
+        for (ServiceInfoSnapshot snapshot : snapshots) {
+            if (snapshot.processSnapshot() != null && snapshot.processSnapshot().threads() != null) {
+                threadCount += snapshot.processSnapshot().threads().size();
+            }
+            if (snapshot.configuration() != null && snapshot.configuration().groups() != null) {
+                groupCount += snapshot.configuration().groups().size();
+            }
+        }
+
+        StringDictionary dictionary = new StringDictionary();
+        ByteBuffer records = allocate(snapshots.size() * RECORD_SIZE, direct);
+        ByteBuffer threads = allocate(threadCount * THREAD_SIZE, direct);
+        ByteBuffer groups = allocate(groupCount * Integer.BYTES, direct);
+        ByteArrayOutputStream blobs = new ByteArrayOutputStream();
+        Map<String, Integer> blobOffsets = new HashMap<>();
+
+        int record = 0;
+        int thread = 0;
+        int group = 0;
+        for (ServiceInfoSnapshot snapshot : snapshots) {
+            int base = record * RECORD_SIZE;
+            int flags = 0;
+
+            records.putLong(base + CREATION_TIME, snapshot.creationTime());
+            records.putLong(base + CONNECTED_TIME, snapshot.connectedTime());
+            records.put(base + LIFE_CYCLE, snapshot.lifeCycle() == null ? NONE : (byte) snapshot.lifeCycle().ordinal());
+
+            if (snapshot.address() != null) {
+                flags |= FLAG_ADDRESS;
+                records.putInt(base + ADDRESS_HOST, dictionary.intern(snapshot.address().host()));
+                records.putInt(base + ADDRESS_PORT, snapshot.address().port());
+            }
+
+            ServiceConfiguration configuration = snapshot.configuration();
+            ServiceId serviceId = configuration == null ? null : configuration.serviceId();
+            if (serviceId != null && serviceId.uniqueId() != null) {
+                records.putLong(base + UUID_MOST, serviceId.uniqueId().getMostSignificantBits());
+                records.putLong(base + UUID_LEAST, serviceId.uniqueId().getLeastSignificantBits());
+            }
+            records.putInt(base + TASK_NAME, dictionary.intern(serviceId == null ? null : serviceId.taskName()));
+            records.putInt(base + TASK_SERVICE_ID, serviceId == null ? 0 : serviceId.taskServiceId());
+            records.putInt(base + NODE_UNIQUE_ID, dictionary.intern(serviceId == null ? null : serviceId.nodeUniqueId()));
+            records.putInt(base + NAME_SPLITTER, dictionary.intern(serviceId == null ? null : serviceId.nameSplitter()));
+
+            records.putInt(base + GROUP_OFFSET, group);
+            if (configuration != null) {
+                flags |= FLAG_CONFIGURATION;
+                if (configuration.groups() != null) {
+                    for (String name : configuration.groups()) {
+                        groups.putInt(group++ * Integer.BYTES, dictionary.intern(name));
+                    }
+                }
+                ServiceConfiguration stored = configuration;
+                if (serviceId != null && serviceId.uniqueId() != null) {
+                    flags |= FLAG_SHARED_CONFIGURATION;
+                    records.putInt(base + CONFIGURATION_PORT, configuration.port());
+                    stored = shared(configuration);
+                }
+                writeBlob(blobs, blobOffsets, records, base + CONFIGURATION_OFFSET, base + CONFIGURATION_LENGTH,
+                        GSON.toJson(stored, ServiceConfiguration.class));
+            }
+            records.putInt(base + GROUP_COUNT, group - records.getInt(base + GROUP_OFFSET));
+
+            records.putInt(base + THREAD_OFFSET, thread);
+            ProcessSnapshot process = snapshot.processSnapshot();
+            if (process != null) {
+                flags |= FLAG_PROCESS;
+                records.putLong(base + PID, process.pid());
+                records.putDouble(base + CPU_USAGE, process.cpuUsage());
+                records.putDouble(base + SYSTEM_CPU_USAGE, process.systemCpuUsage());
+                records.putLong(base + MAX_HEAP_MEMORY, process.maxHeapMemory());
+                records.putLong(base + HEAP_USAGE_MEMORY, process.heapUsageMemory());
+                records.putLong(base + NO_HEAP_USAGE_MEMORY, process.noHeapUsageMemory());
+                records.putLong(base + UNLOADED_CLASS_COUNT, process.unloadedClassCount());
+                records.putLong(base + TOTAL_LOADED_CLASS_COUNT, process.totalLoadedClassCount());
+                records.putInt(base + CURRENT_LOADED_CLASS_COUNT, process.currentLoadedClassCount());
+                if (process.threads() != null) {
+                    for (ThreadSnapshot threadSnapshot : process.threads()) {
+                        int threadBase = thread++ * THREAD_SIZE;
+                        threads.putLong(threadBase + THREAD_ID, threadSnapshot.id());
+                        threads.putInt(threadBase + THREAD_NAME, dictionary.intern(threadSnapshot.name()));
+                        threads.put(threadBase + THREAD_PRIORITY, (byte) threadSnapshot.priority());
+                        threads.put(threadBase + THREAD_DAEMON, (byte) (threadSnapshot.daemon() ? 1 : 0));
+                        threads.put(threadBase + THREAD_STATE, threadSnapshot.threadState() == null
+                                ? NONE : (byte) threadSnapshot.threadState().ordinal());
+                    }
+                }
+            }
+            records.putInt(base + THREAD_COUNT, thread - records.getInt(base + THREAD_OFFSET));
+
+            if (snapshot.properties() != null) {
+                flags |= FLAG_PROPERTIES;
+                writeBlob(blobs, blobOffsets, records, base + PROPERTIES_OFFSET, base + PROPERTIES_LENGTH,
+                        snapshot.properties().toString());
+            }
+
+            records.putInt(base + FLAGS, flags);
+            record++;
+        }
+
+        ByteBuffer blobBuffer = allocate(blobs.size(), direct);
+        blobBuffer.put(0, blobs.toByteArray());
+        return new CompactServiceSnapshots(snapshots.size(), dictionary.toArray(), records, threads, groups, blobBuffer);
+    }
+
+    private static void writeBlob(ByteArrayOutputStream blobs, Map<String, Integer> blobOffsets, ByteBuffer records,
+                                  int offsetField, int lengthField, String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        Integer offset = blobOffsets.get(json);
+        if (offset == null) {
+            offset = blobs.size();
+            blobOffsets.put(json, offset);
+            blobs.writeBytes(bytes);
+        }
+        records.putInt(offsetField, offset);
+        records.putInt(lengthField, bytes.length);
+    }
+
+    /**
+     * The configuration with the values that differ between services of a task neutralized. They are kept in the
+     * record and put back by {@link #restore(ServiceConfiguration, UUID, int, String, int)}.
+     */
+    private static ServiceConfiguration shared(ServiceConfiguration configuration) {
+        ServiceId serviceId = configuration.serviceId();
+        return withIdentity(configuration, new ServiceId(serviceId.taskName(), serviceId.nameSplitter(),
+                serviceId.allowedNodes(), SHARED_ID, 0, null, serviceId.environmentName(), serviceId.environment()), 0);
+    }
+
+    static ServiceConfiguration restore(ServiceConfiguration shared, UUID uniqueId, int taskServiceId,
+                                        @Nullable String nodeUniqueId, int port) {
+        ServiceId serviceId = shared.serviceId();
+        return withIdentity(shared, new ServiceId(serviceId.taskName(), serviceId.nameSplitter(),
+                serviceId.allowedNodes(), uniqueId, taskServiceId, nodeUniqueId, serviceId.environmentName(),
+                serviceId.environment()), port);
+    }
+
+    private static ServiceConfiguration withIdentity(ServiceConfiguration configuration, ServiceId serviceId, int port) {
+        return new ServiceConfiguration(serviceId, configuration.processConfig(), configuration.retryConfiguration(),
+                port, configuration.runtime(), configuration.hostAddress(), configuration.javaCommand(),
+                configuration.autoDeleteOnStop(), configuration.staticService(), configuration.groups(),
+                configuration.deletedFilesAfterStop(), configuration.templates(), configuration.deployments(),
+                configuration.includes(), configuration.properties());
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * A new flyweight positioned on the record at {@code index}.
+     */
+    public @NotNull CompactServiceView view(int index) {
+        return new CompactServiceView(this).moveTo(index);
+    }
+
+    public @Nullable CompactServiceView find(@NotNull UUID uniqueId) {
+        int index = indexOf(uniqueId);
+        return index < 0 ? null : view(index);
+    }
+
+    public int indexOf(@NotNull UUID uniqueId) {
+        long most = uniqueId.getMostSignificantBits();
+        long least = uniqueId.getLeastSignificantBits();
+        int low = 0;
+        int high = this.size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int compared = compare(this.order[middle], most, least);
+            if (compared < 0) {
+                low = middle + 1;
+            } else if (compared > 0) {
+                high = middle - 1;
+            } else {
+                return this.order[middle];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Walks all records with one reused flyweight, which must not be kept beyond the call.
+     */
+    public void forEach(@NotNull Consumer<CompactServiceView> action) {
+        CompactServiceView view = new CompactServiceView(this);
+        for (int i = 0; i < this.size; i++) {
+            action.accept(view.moveTo(i));
+        }
+    }
+
+    /**
+     * Decodes every record back into a full snapshot.
+     */
+    public @NotNull List<ServiceInfoSnapshot> toSnapshots() {
+        List<ServiceInfoSnapshot> snapshots = new ArrayList<>(this.size);
+        forEach(view -> snapshots.add(view.toSnapshot()));
+        return snapshots;
+    }
+
+    /**
+     * Bytes held by the buffers, excluding the dictionary.
+     */
+    public long bufferBytes() {
+        return (long) this.records.capacity() + this.threads.capacity() + this.groups.capacity() + this.blobs.capacity();
+    }
+
+    @Nullable String string(int id) {
+        return id == NONE ? null : this.strings[id];
+    }
+
+    public void writeTo(@NotNull OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(this.size);
+        StringDictionary.write(this.strings, out);
+        for (ByteBuffer buffer : new ByteBuffer[]{this.records, this.threads, this.groups, this.blobs}) {
+            byte[] bytes = new byte[buffer.capacity()];
+            buffer.get(0, bytes);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        out.flush();
+    }
+
+    public void writeTo(@NotNull Path path) throws IOException {
+        try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(path))) {
+            writeTo(stream);
+        }
+    }
+
+    public static @NotNull CompactServiceSnapshots readFrom(@NotNull InputStream stream, boolean direct) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a compact service snapshot file");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported compact service snapshot version " + version);
+        }
+
+        int size = in.readInt();
+        String[] strings = StringDictionary.read(in);
+        ByteBuffer[] buffers = new ByteBuffer[4];
+        for (int i = 0; i < buffers.length; i++) {
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            buffers[i] = allocate(bytes.length, direct).put(0, bytes);
+        }
+        Preconditions.checkState(buffers[0].capacity() == size * RECORD_SIZE, "Corrupt compact service snapshot file");
+
+        return new CompactServiceSnapshots(size, strings, buffers[0], buffers[1], buffers[2], buffers[3]);
+    }
+
+    public static @NotNull CompactServiceSnapshots readFrom(@NotNull Path path, boolean direct) throws IOException {
+        try (InputStream stream = new BufferedInputStream(Files.newInputStream(path))) {
+            return readFrom(stream, direct);
+        }
+    }
+
+    private int[] sortById() {
+        int[] order = new int[this.size];
+        for (int i = 0; i < this.size; i++) {
+            order[i] = i;
+        }
+        sortById(order, new int[this.size], 0, this.size);
+        return order;
+    }
+
+    /**
+     * Merge sort over the record indices in {@code [from, to)}, comparing the ids straight from the record buffer.
+     */
+    private void sortById(int[] order, int[] scratch, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        sortById(order, scratch, from, middle);
+        sortById(order, scratch, middle, to);
+        if (compare(order[middle - 1], order[middle]) <= 0) {
+            return;
+        }
+
+        System.arraycopy(order, from, scratch, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < middle && compare(scratch[left], scratch[right]) <= 0)) {
+                order[i] = scratch[left++];
+            } else {
+                order[i] = scratch[right++];
+            }
+        }
+    }
+
+    private int compare(int left, int right) {
+        int base = right * RECORD_SIZE;
+        return compare(left, this.records.getLong(base + UUID_MOST), this.records.getLong(base + UUID_LEAST));
+    }
+
+    private int compare(int index, long most, long least) {
+        int base = index * RECORD_SIZE;
+        int compared = Long.compare(this.records.getLong(base + UUID_MOST), most);
+        return compared != 0 ? compared : Long.compare(this.records.getLong(base + UUID_LEAST), least);
+    }
+
+    private static ByteBuffer allocate(int capacity, boolean direct) {
+        return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+}
@@ -0,0 +1,222 @@
+package eu.cafestube.cloudnet.compact;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import eu.cafestube.cloudnet.service.HostAndPort;
+import eu.cafestube.cloudnet.service.ServiceConfiguration;
+import eu.cafestube.cloudnet.service.status.ProcessSnapshot;
+import eu.cafestube.cloudnet.service.status.ServiceInfoSnapshot;
+import eu.cafestube.cloudnet.service.status.ServiceLifeCycle;
+import eu.cafestube.cloudnet.service.status.ThreadSnapshot;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static eu.cafestube.cloudnet.compact.CompactLayout.*;
+
+/**
+ * Flyweight over one record of {@link CompactServiceSnapshots}. Scalar accessors read straight from the buffers,
+ * accessors returning objects decode on every call. A view can be moved between records and isn't thread safe.
+ */
+public final class CompactServiceView {
+
+    private static final ServiceLifeCycle[] LIFE_CYCLES = ServiceLifeCycle.values();
+    private static final Thread.State[] THREAD_STATES = Thread.State.values();
+
+    private final CompactServiceSnapshots snapshots;
+    private int index;
+    private int base;
+
+    CompactServiceView(CompactServiceSnapshots snapshots) {
+        this.snapshots = snapshots;
+    }
+
+    public @NotNull CompactServiceView moveTo(int index) {
+        if (index < 0 || index >= this.snapshots.size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        this.index = index;
+        this.base = index * RECORD_SIZE;
+        return this;
+    }
+
+    public int index() {
+        return this.index;
+    }
+
+    public @NotNull UUID uniqueId() {
+        return new UUID(this.snapshots.records.getLong(this.base + UUID_MOST), this.snapshots.records.getLong(this.base + UUID_LEAST));
+    }
+
+    public @Nullable String taskName() {
+        return string(TASK_NAME);
+    }
+
+    public int taskServiceId() {
+        return intAt(TASK_SERVICE_ID);
+    }
+
+    public @Nullable String nodeUniqueId() {
+        return string(NODE_UNIQUE_ID);
+    }
+
+    /**
+     * The service name, e.g. {@code Lobby-1}.
+     */
+    public @Nullable String name() {
+        String taskName = taskName();
+        if (taskName == null) {
+            return null;
+        }
+        String splitter = string(NAME_SPLITTER);
+        return taskName + (splitter == null ? "-" : splitter) + taskServiceId();
+    }
+
+    public @Nullable ServiceLifeCycle lifeCycle() {
+        byte ordinal = this.snapshots.records.get(this.base + LIFE_CYCLE);
+        return ordinal == NONE ? null : LIFE_CYCLES[ordinal];
+    }
+
+    public long creationTime() {
+        return this.snapshots.records.getLong(this.base + CREATION_TIME);
+    }
+
+    public long connectedTime() {
+        return this.snapshots.records.getLong(this.base + CONNECTED_TIME);
+    }
+
+    public @Nullable HostAndPort address() {
+        return has(FLAG_ADDRESS) ? new HostAndPort(string(ADDRESS_HOST), intAt(ADDRESS_PORT)) : null;
+    }
+
+    public @NotNull Set<String> groups() {
+        int offset = intAt(GROUP_OFFSET);
+        int count = intAt(GROUP_COUNT);
+        Set<String> groups = new LinkedHashSet<>(count);
+        for (int i = 0; i < count; i++) {
+            groups.add(this.snapshots.string(this.snapshots.groups.getInt((offset + i) * Integer.BYTES)));
+        }
+        return groups;
+    }
+
+    public boolean hasProcessSnapshot() {
+        return has(FLAG_PROCESS);
+    }
+
+    public long pid() {
+        return longAt(PID);
+    }
+
+    public double cpuUsage() {
+        return this.snapshots.records.getDouble(this.base + CPU_USAGE);
+    }
+
+    public double systemCpuUsage() {
+        return this.snapshots.records.getDouble(this.base + SYSTEM_CPU_USAGE);
+    }
+
+    public long maxHeapMemory() {
+        return longAt(MAX_HEAP_MEMORY);
+    }
+
+    public long heapUsageMemory() {
+        return longAt(HEAP_USAGE_MEMORY);
+    }
+
+    public long noHeapUsageMemory() {
+        return longAt(NO_HEAP_USAGE_MEMORY);
+    }
+
+    public int currentLoadedClassCount() {
+        return intAt(CURRENT_LOADED_CLASS_COUNT);
+    }
+
+    public int threadCount() {
+        return intAt(THREAD_COUNT);
+    }
+
+    public @NotNull ThreadSnapshot thread(int index) {
+        if (index < 0 || index >= threadCount()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        int threadBase = (intAt(THREAD_OFFSET) + index) * THREAD_SIZE;
+        byte state = this.snapshots.threads.get(threadBase + THREAD_STATE);
+        return new ThreadSnapshot(
+                this.snapshots.threads.getLong(threadBase + THREAD_ID),
+                this.snapshots.threads.get(threadBase + THREAD_PRIORITY),
+                this.snapshots.threads.get(threadBase + THREAD_DAEMON) != 0,
+                this.snapshots.string(this.snapshots.threads.getInt(threadBase + THREAD_NAME)),
+                state == NONE ? null : THREAD_STATES[state]);
+    }
+
+    public @Nullable ProcessSnapshot processSnapshot() {
+        if (!hasProcessSnapshot()) {
+            return null;
+        }
+
+        int count = threadCount();
+        List<ThreadSnapshot> threads = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            threads.add(thread(i));
+        }
+        return new ProcessSnapshot(pid(), cpuUsage(), systemCpuUsage(), maxHeapMemory(), heapUsageMemory(),
+                noHeapUsageMemory(), longAt(UNLOADED_CLASS_COUNT), longAt(TOTAL_LOADED_CLASS_COUNT),
+                currentLoadedClassCount(), threads);
+    }
+
+    public @Nullable ServiceConfiguration configuration() {
+        String json = blob(FLAG_CONFIGURATION, CONFIGURATION_OFFSET, CONFIGURATION_LENGTH);
+        if (json == null) {
+            return null;
+        }
+
+        ServiceConfiguration configuration = CompactServiceSnapshots.GSON.fromJson(json, ServiceConfiguration.class);
+        return has(FLAG_SHARED_CONFIGURATION)
+                ? CompactServiceSnapshots.restore(configuration, uniqueId(), taskServiceId(), nodeUniqueId(), intAt(CONFIGURATION_PORT))
+                : configuration;
+    }
+
+    public @Nullable JsonObject properties() {
+        String json = blob(FLAG_PROPERTIES, PROPERTIES_OFFSET, PROPERTIES_LENGTH);
+        return json == null ? null : JsonParser.parseString(json).getAsJsonObject();
+    }
+
+    public @NotNull ServiceInfoSnapshot toSnapshot() {
+        return new ServiceInfoSnapshot(creationTime(), address(), configuration(), connectedTime(), processSnapshot(),
+                lifeCycle(), properties());
+    }
+
+    private boolean has(int flag) {
+        return (intAt(FLAGS) & flag) != 0;
+    }
+
+    private int intAt(int offset) {
+        return this.snapshots.records.getInt(this.base + offset);
+    }
+
+    private long longAt(int offset) {
+        return this.snapshots.records.getLong(this.base + offset);
+    }
+
+    private String string(int offset) {
+        return this.snapshots.string(intAt(offset));
+    }
+
+    private String blob(int flag, int offsetField, int lengthField) {
+        if (!has(flag)) {
+            return null;
+        }
+
+        byte[] bytes = new byte[intAt(lengthField)];
+        this.snapshots.blobs.get(intAt(offsetField), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,165 @@
+package eu.cafestube.cloudnet.console;
+
+import eu.cafestube.cloudnet.CloudNetApiClient;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.http.WebSocket;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the live console output of a service line by line. Demand is forwarded to the WebSocket as is, so
+ * nothing is read from the node before the subscriber asked for it and no output is buffered on the client.
+ * <p>
+ * The publisher is unicast and opens its socket when subscribed. The stream completes when the node closes it, it is
+ * not reopened.
+ */
+public final class LiveLogPublisher implements Flow.Publisher<String> {
+
+    private final CloudNetApiClient client;
+    private final String path;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    public LiveLogPublisher(@NotNull CloudNetApiClient client, @NotNull String path) {
+        this.client = client;
+        this.path = path;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super String> subscriber) {
+        if (!this.subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("Live log publisher only supports a single subscriber"));
+            return;
+        }
+
+        LogSubscription subscription = new LogSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        this.client.newCloudNetWebSocket(this.path, subscription).whenComplete((webSocket, throwable) -> {
+            if (throwable != null) {
+                subscription.fail(throwable);
+            } else if (subscription.cancelled.get()) {
+                webSocket.abort();
+            }
+        });
+    }
+
+    private static final class LogSubscription implements Flow.Subscription, WebSocket.Listener {
+
+        private final Flow.Subscriber<? super String> subscriber;
+        private final AtomicLong pendingDemand = new AtomicLong();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private final AtomicBoolean terminated = new AtomicBoolean();
+        private final StringBuilder line = new StringBuilder();
+
+        private volatile @Nullable WebSocket webSocket;
+
+        private LogSubscription(Flow.Subscriber<? super String> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                fail(new IllegalArgumentException("Demand must be positive, got " + n));
+                return;
+            }
+
+            this.pendingDemand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            flushDemand();
+        }
+
+        @Override
+        public void cancel() {
+            if (!this.cancelled.compareAndSet(false, true)) {
+                return;
+            }
+
+            WebSocket webSocket = this.webSocket;
+            if (webSocket != null) {
+                webSocket.abort();
+            }
+        }
+
+        private void flushDemand() {
+            // whoever sees the socket first hands the accumulated demand over, getAndSet keeps it from counting twice
+            WebSocket webSocket = this.webSocket;
+            if (webSocket == null || this.cancelled.get()) {
+                return;
+            }
+
+            long demand = this.pendingDemand.getAndSet(0);
+            if (demand > 0) {
+                webSocket.request(demand);
+            }
+        }
+
+        private void fail(Throwable throwable) {
+            if (this.terminated.compareAndSet(false, true)) {
+                this.subscriber.onError(throwable);
+            }
+        }
+
+        @Override
+        public void onOpen(WebSocket webSocket) {
+            this.webSocket = webSocket;
+            if (this.cancelled.get()) {
+                webSocket.abort();
+                return;
+            }
+            flushDemand();
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            if (!last) {
+                // a fragment doesn't count against the subscriber's demand, fetch the rest of the line
+                this.line.append(data);
+                webSocket.request(1);
+                return null;
+            }
+
+            String line;
+            if (this.line.isEmpty()) {
+                line = data.toString();
+            } else {
+                line = this.line.append(data).toString();
+                this.line.setLength(0);
+            }
+
+            if (!this.cancelled.get() && !this.terminated.get()) {
+                this.subscriber.onNext(line);
+            }
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            if (this.terminated.compareAndSet(false, true) && !this.cancelled.get()) {
+                this.subscriber.onComplete();
+            }
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            if (!this.cancelled.get()) {
+                fail(error);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,33 @@
+package eu.cafestube.cloudnet.event;
+
+import eu.cafestube.cloudnet.service.status.ServiceInfoSnapshot;
+import eu.cafestube.cloudnet.service.status.ServiceLifeCycle;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * A service update from the event stream. {@code receivedAt} is the {@link System#nanoTime()} at which it was read,
+ * which orders it against requests issued by the client. Events are only emitted for snapshots that carry a service id
+ * and a lifecycle.
+ */
+public record ServiceEvent(
+        @Nullable String name,
+        @NotNull ServiceInfoSnapshot snapshot,
+        long receivedAt
+) {
+
+    public ServiceEvent(@Nullable String name, @NotNull ServiceInfoSnapshot snapshot) {
+        this(name, snapshot, System.nanoTime());
+    }
+
+    public @NotNull UUID serviceId() {
+        return this.snapshot.configuration().serviceId().uniqueId();
+    }
+
+    public @NotNull ServiceLifeCycle lifeCycle() {
+        return this.snapshot.lifeCycle();
+    }
+
+}
@@ -0,0 +1,28 @@
+package eu.cafestube.cloudnet.event;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+@FunctionalInterface
+public interface ServiceEventListener {
+
+    void onEvent(@NotNull ServiceEvent event);
+
+    /**
+     * Called every time the event stream is (re)established. Events published while disconnected are lost, so
+     * listeners keeping state should resynchronize on a reconnect.
+     */
+    default void onConnect(boolean reconnect) {
+    }
+
+    default void onDisconnect(@Nullable Throwable cause) {
+    }
+
+    /**
+     * Called on the delivery thread once every queued notification was delivered. Listeners can use it to publish
+     * state accumulated over a burst of events at once instead of after every single event.
+     */
+    default void onDrained() {
+    }
+
+}
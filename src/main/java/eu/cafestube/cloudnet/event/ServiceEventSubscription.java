@@ -0,0 +1,284 @@
+package eu.cafestube.cloudnet.event;
+
+import com.google.common.base.Preconditions;
+import com.google.common.io.CharSource;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import eu.cafestube.cloudnet.CloudNetApiClient;
+import eu.cafestube.cloudnet.resilience.RetryPolicy;
+import eu.cafestube.cloudnet.service.status.ServiceInfoSnapshot;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Live stream of service events read from a node's WebSocket channel.
+ * <p>
+ * Frames are only requested from the socket while fewer than {@code bufferSize} decoded events wait for delivery,
+ * so a slow listener throttles the node through TCP flow control instead of growing an unbounded queue. Listeners
+ * are called one at a time, in order, on the delivery executor. A dropped connection is reopened with backoff
+ * until the subscription is closed.
+ */
+public final class ServiceEventSubscription implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(ServiceEventSubscription.class.getName());
+    private static final RetryPolicy RECONNECT_POLICY = new RetryPolicy(Integer.MAX_VALUE,
+            Duration.ofMillis(500), Duration.ofSeconds(30), 2, 0.5);
+
+    private final CloudNetApiClient client;
+    private final Gson gson;
+    private final String path;
+    private final int bufferSize;
+    private final Executor executor;
+
+    private final List<ServiceEventListener> listeners = new CopyOnWriteArrayList<>();
+    private final Queue<Consumer<ServiceEventListener>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger bufferedEvents = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean paused = new AtomicBoolean();
+    private final AtomicInteger connection = new AtomicInteger();
+
+    private final AtomicInteger reconnectAttempt = new AtomicInteger();
+    private volatile boolean connectedBefore;
+    private volatile @Nullable WebSocket webSocket;
+    private volatile boolean closed;
+
+    public ServiceEventSubscription(@NotNull CloudNetApiClient client, @NotNull Gson gson, @NotNull String path,
+                                    int bufferSize, @NotNull Executor executor) {
+        Preconditions.checkArgument(bufferSize > 0, "bufferSize must be positive");
+        this.client = client;
+        this.gson = gson;
+        this.path = path;
+        this.bufferSize = bufferSize;
+        this.executor = executor;
+    }
+
+    public @NotNull ServiceEventSubscription addListener(@NotNull ServiceEventListener listener) {
+        this.listeners.add(listener);
+        return this;
+    }
+
+    public void removeListener(@NotNull ServiceEventListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    public @NotNull ServiceEventSubscription open() {
+        Preconditions.checkState(!this.closed, "Subscription is closed");
+        connect();
+        return this;
+    }
+
+    public boolean isConnected() {
+        WebSocket webSocket = this.webSocket;
+        return webSocket != null && !webSocket.isInputClosed();
+    }
+
+    public int getBufferedEvents() {
+        return this.bufferedEvents.get();
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        WebSocket webSocket = this.webSocket;
+        if (webSocket != null) {
+            webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "").whenComplete((ignored, throwable) -> webSocket.abort());
+        }
+    }
+
+    private void connect() {
+        this.client.newCloudNetWebSocket(this.path, new Listener()).whenComplete((webSocket, throwable) -> {
+            if (throwable != null) {
+                scheduleReconnect(throwable);
+            } else if (this.closed) {
+                webSocket.abort();
+            }
+        });
+    }
+
+    private void scheduleReconnect(@Nullable Throwable cause) {
+        this.webSocket = null;
+        if (this.closed) {
+            return;
+        }
+
+        Duration delay = RECONNECT_POLICY.backoff(this.reconnectAttempt.incrementAndGet());
+        LOGGER.log(Level.FINE, "Service event stream disconnected, reconnecting in " + delay.toMillis() + "ms", cause);
+        enqueue(listener -> listener.onDisconnect(cause));
+        CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+            if (!this.closed) {
+                connect();
+            }
+        });
+    }
+
+    private void enqueue(Consumer<ServiceEventListener> notification) {
+        this.pending.add(notification);
+        if (this.draining.compareAndSet(false, true)) {
+            this.executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        do {
+            Consumer<ServiceEventListener> notification;
+            while ((notification = this.pending.poll()) != null) {
+                for (ServiceEventListener listener : this.listeners) {
+                    try {
+                        notification.accept(listener);
+                    } catch (RuntimeException e) {
+                        LOGGER.log(Level.WARNING, "Service event listener failed", e);
+                    }
+                }
+            }
+            for (ServiceEventListener listener : this.listeners) {
+                try {
+                    listener.onDrained();
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Service event listener failed", e);
+                }
+            }
+            this.draining.set(false);
+        } while (!this.pending.isEmpty() && this.draining.compareAndSet(false, true));
+    }
+
+    private void deliver(ServiceEvent event) {
+        int connection = this.connection.get();
+        this.bufferedEvents.incrementAndGet();
+        enqueue(listener -> {
+            try {
+                listener.onEvent(event);
+            } finally {
+                eventDelivered(connection);
+            }
+        });
+    }
+
+    private void eventDelivered(int connection) {
+        // events received on an earlier connection were dropped from the count when the current one opened
+        if (connection != this.connection.get()) {
+            return;
+        }
+
+        // count each event once, no matter how many listeners saw it
+        if (this.bufferedEvents.decrementAndGet() < this.bufferSize && this.paused.compareAndSet(true, false)) {
+            WebSocket webSocket = this.webSocket;
+            if (webSocket != null) {
+                webSocket.request(1);
+            }
+        }
+    }
+
+    private @Nullable ServiceEvent decode(CharSequence message) throws IOException {
+        String name = null;
+        ServiceInfoSnapshot snapshot = null;
+
+        try (Reader reader = CharSource.wrap(message).openStream(); JsonReader json = new JsonReader(reader)) {
+            json.beginObject();
+            while (json.hasNext()) {
+                String field = json.nextName();
+                if (field.equals("event") && json.peek() == JsonToken.STRING) {
+                    name = json.nextString();
+                } else if (field.equals("snapshot") && json.peek() == JsonToken.BEGIN_OBJECT) {
+                    snapshot = this.gson.getAdapter(ServiceInfoSnapshot.class).read(json);
+                } else {
+                    json.skipValue();
+                }
+            }
+            json.endObject();
+        }
+
+        if (snapshot == null) {
+            return null;
+        }
+        // partial snapshots can't be indexed or ordered, so they never reach the listeners
+        if (snapshot.lifeCycle() == null || snapshot.configuration() == null
+                || snapshot.configuration().serviceId() == null) {
+            LOGGER.warning("Dropping service event " + name + " without a service id or lifecycle");
+            return null;
+        }
+        return new ServiceEvent(name, snapshot, System.nanoTime());
+    }
+
+    private final class Listener implements WebSocket.Listener {
+
+        private final StringBuilder message = new StringBuilder();
+
+        @Override
+        public void onOpen(WebSocket webSocket) {
+            // demand starts fresh on every connection, whatever the previous socket left behind
+            connection.incrementAndGet();
+            bufferedEvents.set(0);
+            paused.set(false);
+            ServiceEventSubscription.this.webSocket = webSocket;
+            reconnectAttempt.set(0);
+
+            boolean reconnect = connectedBefore;
+            connectedBefore = true;
+            enqueue(listener -> listener.onConnect(reconnect));
+            webSocket.request(1);
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            this.message.append(data);
+            if (!last) {
+                webSocket.request(1);
+                return null;
+            }
+
+            try {
+                ServiceEvent event = decode(this.message);
+                if (event != null) {
+                    deliver(event);
+                }
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Dropping malformed service event", e);
+            } finally {
+                this.message.setLength(0);
+            }
+
+            if (bufferedEvents.get() < bufferSize) {
+                webSocket.request(1);
+            } else {
+                paused.set(true);
+                // the listener may have caught up between the check and the flag
+                if (bufferedEvents.get() < bufferSize && paused.compareAndSet(true, false)) {
+                    webSocket.request(1);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            scheduleReconnect(null);
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            scheduleReconnect(error);
+        }
+
+    }
+
+}
@@ -0,0 +1,8 @@
+package eu.cafestube.cloudnet.exception;
+
+public class CircuitBreakerOpenException extends RuntimeException {
+
+    public CircuitBreakerOpenException(String hosts) {
+        super("No CloudNet node available, circuit breaker open for " + hosts);
+    }
+}
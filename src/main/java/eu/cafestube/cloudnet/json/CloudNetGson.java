@@ -0,0 +1,29 @@
+package eu.cafestube.cloudnet.json;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import eu.cafestube.cloudnet.json.adapter.CloudNetTypeAdapterFactory;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Source of the {@link Gson} instances used by the client. Gson is thread safe and caches every adapter it creates,
+ * so one instance should be shared instead of creating a new one per manager or call.
+ */
+public final class CloudNetGson {
+
+    private CloudNetGson() {
+    }
+
+    /**
+     * A builder with the model adapters registered, for callers that need additional settings.
+     */
+    public static @NotNull GsonBuilder builder() {
+        return new GsonBuilder()
+                .registerTypeAdapterFactory(new CloudNetTypeAdapterFactory());
+    }
+
+    public static @NotNull Gson create() {
+        return builder().create();
+    }
+
+}
@@ -0,0 +1,113 @@
+package eu.cafestube.cloudnet.json;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates the elements of an array member of a CloudNet response object, binding one element at a time.
+ */
+public class JsonArrayIterator<T> implements Iterator<T>, Closeable {
+
+    private final JsonReader reader;
+    private final String field;
+    private final TypeAdapter<T> adapter;
+
+    private boolean positioned;
+    private boolean exhausted;
+
+    public JsonArrayIterator(@NotNull Gson gson, @NotNull InputStream stream, @NotNull String field, @NotNull TypeAdapter<T> adapter) {
+        this.reader = gson.newJsonReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        this.field = field;
+        this.adapter = adapter;
+    }
+
+    public static <T> @NotNull Stream<T> stream(@NotNull Gson gson, @NotNull InputStream stream, @NotNull String field, @NotNull TypeAdapter<T> adapter) {
+        JsonArrayIterator<T> iterator = new JsonArrayIterator<>(gson, stream, field, adapter);
+        return StreamSupport.stream(() -> Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                Spliterator.ORDERED | Spliterator.NONNULL, false).onClose(iterator::close);
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            if (this.exhausted) {
+                return false;
+            }
+
+            if (!this.positioned) {
+                this.positioned = true;
+                if (!seekArray()) {
+                    return finish();
+                }
+            }
+
+            return this.reader.hasNext() || finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        try {
+            return this.adapter.read(this.reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean finish() {
+        this.exhausted = true;
+        close();
+        return false;
+    }
+
+    private boolean seekArray() throws IOException {
+        try {
+            this.reader.peek();
+        } catch (EOFException e) {
+            return false;
+        }
+
+        this.reader.beginObject();
+        while (this.reader.hasNext()) {
+            if (this.reader.nextName().equals(this.field) && this.reader.peek() == JsonToken.BEGIN_ARRAY) {
+                this.reader.beginArray();
+                return true;
+            }
+            this.reader.skipValue();
+        }
+        return false;
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,71 @@
+package eu.cafestube.cloudnet.json;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A single field of a CloudNet response object together with the {@code success} flag most endpoints send along.
+ */
+public record JsonField<T>(
+        @Nullable Boolean success,
+        @Nullable T value
+) {
+
+    private static final JsonField<?> EMPTY = new JsonField<>(null, null);
+
+    @SuppressWarnings("unchecked")
+    public static <T> @NotNull JsonField<T> empty() {
+        return (JsonField<T>) EMPTY;
+    }
+
+    /**
+     * Reads the given field straight from the stream, skipping every other member of the response object
+     * without building a tree for it.
+     */
+    public static <T> @NotNull JsonField<T> read(@NotNull Gson gson, @NotNull InputStream stream,
+                                                 @NotNull String field, @NotNull TypeAdapter<T> adapter) {
+        try (JsonReader reader = gson.newJsonReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            try {
+                reader.peek();
+            } catch (EOFException e) {
+                return empty();
+            }
+
+            Boolean success = null;
+            T value = null;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (name.equals("success") && reader.peek() == JsonToken.BOOLEAN) {
+                    success = reader.nextBoolean();
+                } else if (name.equals(field)) {
+                    value = adapter.read(reader);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            return new JsonField<>(success, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public boolean isSuccess() {
+        return Boolean.TRUE.equals(this.success);
+    }
+
+}
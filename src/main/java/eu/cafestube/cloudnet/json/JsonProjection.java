@@ -0,0 +1,139 @@
+package eu.cafestube.cloudnet.json;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads only the given paths out of a JSON object. Everything else is skipped on the token level, so nothing outside
+ * the requested paths is bound or even built into a tree.
+ */
+public final class JsonProjection<K> extends TypeAdapter<Map<K, JsonElement>> {
+
+    private static final TypeAdapter<JsonElement> ELEMENT_ADAPTER = new Gson().getAdapter(JsonElement.class);
+
+    private final Node<K> root = new Node<>();
+
+    private JsonProjection() {
+    }
+
+    /**
+     * Creates a projection reading each path, given as its member names from the outermost object inward, into the
+     * result under its key.
+     */
+    public static <K> @NotNull JsonProjection<K> of(@NotNull Map<K, List<String>> paths) {
+        JsonProjection<K> projection = new JsonProjection<>();
+        paths.forEach((key, path) -> {
+            Node<K> node = projection.root;
+            for (String segment : path) {
+                node = node.children.computeIfAbsent(segment, name -> new Node<>());
+            }
+            node.keys.add(key);
+        });
+        return projection;
+    }
+
+    @Override
+    public Map<K, JsonElement> read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        Map<K, JsonElement> result = new HashMap<>();
+        read(in, this.root, result);
+        return result;
+    }
+
+    private void read(JsonReader in, Node<K> node, Map<K, JsonElement> result) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            in.skipValue();
+            return;
+        }
+
+        in.beginObject();
+        while (in.hasNext()) {
+            Node<K> child = node.children.get(in.nextName());
+            if (child == null) {
+                in.skipValue();
+            } else if (child.keys.isEmpty()) {
+                read(in, child, result);
+            } else {
+                JsonElement element = JsonParser.parseReader(in);
+                collect(element, child, result);
+            }
+        }
+        in.endObject();
+    }
+
+    private void collect(JsonElement element, Node<K> node, Map<K, JsonElement> result) {
+        for (K key : node.keys) {
+            result.put(key, element);
+        }
+        if (!node.children.isEmpty() && element.isJsonObject()) {
+            JsonObject object = element.getAsJsonObject();
+            node.children.forEach((name, child) -> {
+                JsonElement member = object.get(name);
+                if (member != null) {
+                    collect(member, child, result);
+                }
+            });
+        }
+    }
+
+    /**
+     * Writes the values back at their paths, so that reading the output with this projection yields the same values.
+     * A value whose path lies inside another written value is covered by that value and not written again.
+     */
+    @Override
+    public void write(JsonWriter out, Map<K, JsonElement> value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        JsonElement tree = tree(this.root, value);
+        ELEMENT_ADAPTER.write(out, tree == null ? new JsonObject() : tree);
+    }
+
+    private JsonElement tree(Node<K> node, Map<K, JsonElement> values) {
+        for (K key : node.keys) {
+            JsonElement element = values.get(key);
+            if (element != null) {
+                return element;
+            }
+        }
+
+        JsonObject object = null;
+        for (Map.Entry<String, Node<K>> entry : node.children.entrySet()) {
+            JsonElement member = tree(entry.getValue(), values);
+            if (member != null) {
+                if (object == null) {
+                    object = new JsonObject();
+                }
+                object.add(entry.getKey(), member);
+            }
+        }
+        return object;
+    }
+
+    private static final class Node<K> {
+
+        private final Map<String, Node<K>> children = new HashMap<>();
+        private final List<K> keys = new ArrayList<>(1);
+
+    }
+
+}
@@ -0,0 +1,65 @@
+package eu.cafestube.cloudnet.json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Copies a JSON value token by token into its compact textual form, leaving binding it to later.
+ */
+public final class RawJson {
+
+    private RawJson() {
+    }
+
+    public static @NotNull String capture(@NotNull JsonReader in) throws IOException {
+        StringWriter buffer = new StringWriter();
+        try (JsonWriter out = new JsonWriter(buffer)) {
+            out.setSerializeNulls(true);
+            copy(in, out);
+        }
+        return buffer.toString();
+    }
+
+    private static void copy(JsonReader in, JsonWriter out) throws IOException {
+        int depth = 0;
+        do {
+            switch (in.peek()) {
+                case BEGIN_OBJECT -> {
+                    in.beginObject();
+                    out.beginObject();
+                    depth++;
+                }
+                case END_OBJECT -> {
+                    in.endObject();
+                    out.endObject();
+                    depth--;
+                }
+                case BEGIN_ARRAY -> {
+                    in.beginArray();
+                    out.beginArray();
+                    depth++;
+                }
+                case END_ARRAY -> {
+                    in.endArray();
+                    out.endArray();
+                    depth--;
+                }
+                case NAME -> out.name(in.nextName());
+                case STRING -> out.value(in.nextString());
+                // keeps the number's original text, nothing is lost to a double round trip
+                case NUMBER -> out.jsonValue(in.nextString());
+                case BOOLEAN -> out.value(in.nextBoolean());
+                case NULL -> {
+                    in.nextNull();
+                    out.nullValue();
+                }
+                case END_DOCUMENT -> throw new IOException("Unexpected end of document");
+            }
+        } while (depth > 0);
+    }
+
+}
@@ -0,0 +1,83 @@
+package eu.cafestube.cloudnet.json.adapter;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import eu.cafestube.cloudnet.service.CustomServiceEnvironmentType;
+import eu.cafestube.cloudnet.service.HostAndPort;
+import eu.cafestube.cloudnet.service.ProcessConfiguration;
+import eu.cafestube.cloudnet.service.ServiceConfiguration;
+import eu.cafestube.cloudnet.service.ServiceDeployment;
+import eu.cafestube.cloudnet.service.ServiceId;
+import eu.cafestube.cloudnet.service.ServiceRemoteInclusion;
+import eu.cafestube.cloudnet.service.ServiceTemplate;
+import eu.cafestube.cloudnet.service.result.ServiceCreateResult;
+import eu.cafestube.cloudnet.service.status.ProcessSnapshot;
+import eu.cafestube.cloudnet.service.status.ServiceInfoSnapshot;
+import eu.cafestube.cloudnet.service.status.ServiceLifeCycle;
+import eu.cafestube.cloudnet.service.status.ThreadSnapshot;
+import eu.cafestube.cloudnet.task.ServiceTask;
+import eu.cafestube.cloudnet.template.TemplateFile;
+
+/**
+ * Binds the model records with hand-written streaming adapters instead of Gson's reflective one. The adapters produce
+ * and accept the same JSON as reflective binding: unknown members are skipped, {@code null} members are left out on
+ * write and keep their default on read.
+ * <p>
+ * Nested model types are resolved through the {@link Gson} instance, so they are bound by this factory as well, while
+ * enums and {@link JsonObject} members keep Gson's built-in adapters.
+ */
+public final class CloudNetTypeAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> raw = type.getRawType();
+        TypeAdapter<?> adapter;
+
+        if (raw == HostAndPort.class) {
+            adapter = new HostAndPortAdapter();
+        } else if (raw == ServiceTemplate.class) {
+            adapter = new ServiceTemplateAdapter();
+        } else if (raw == ServiceDeployment.class) {
+            adapter = new ServiceDeploymentAdapter(gson.getAdapter(ServiceTemplate.class));
+        } else if (raw == ServiceRemoteInclusion.class) {
+            adapter = new ServiceRemoteInclusionAdapter(gson.getAdapter(JsonObject.class));
+        } else if (raw == CustomServiceEnvironmentType.class) {
+            adapter = new CustomServiceEnvironmentTypeAdapter(gson.getAdapter(JsonObject.class));
+        } else if (raw == ProcessConfiguration.class) {
+            adapter = new ProcessConfigurationAdapter();
+        } else if (raw == ServiceId.class) {
+            adapter = new ServiceIdAdapter(gson.getAdapter(CustomServiceEnvironmentType.class));
+        } else if (raw == ServiceConfiguration.class) {
+            adapter = new ServiceConfigurationAdapter(gson.getAdapter(ServiceId.class),
+                    gson.getAdapter(ProcessConfiguration.class), gson.getAdapter(ServiceTemplate.class),
+                    gson.getAdapter(ServiceDeployment.class), gson.getAdapter(ServiceRemoteInclusion.class),
+                    gson.getAdapter(JsonObject.class));
+        } else if (raw == ThreadSnapshot.class) {
+            adapter = new ThreadSnapshotAdapter(gson.getAdapter(Thread.State.class));
+        } else if (raw == ProcessSnapshot.class) {
+            adapter = new ProcessSnapshotAdapter(gson.getAdapter(ThreadSnapshot.class));
+        } else if (raw == ServiceInfoSnapshot.class) {
+            adapter = new ServiceInfoSnapshotAdapter(gson.getAdapter(HostAndPort.class),
+                    gson.getAdapter(ServiceConfiguration.class), gson.getAdapter(ProcessSnapshot.class),
+                    gson.getAdapter(ServiceLifeCycle.class), gson.getAdapter(JsonObject.class));
+        } else if (raw == ServiceCreateResult.class) {
+            adapter = new ServiceCreateResultAdapter(gson.getAdapter(ServiceCreateResult.State.class),
+                    gson.getAdapter(ServiceInfoSnapshot.class));
+        } else if (raw == ServiceTask.class) {
+            adapter = new ServiceTaskAdapter(gson.getAdapter(ProcessConfiguration.class),
+                    gson.getAdapter(ServiceTemplate.class), gson.getAdapter(ServiceDeployment.class),
+                    gson.getAdapter(ServiceRemoteInclusion.class), gson.getAdapter(JsonObject.class));
+        } else if (raw == TemplateFile.class) {
+            adapter = new TemplateFileAdapter();
+        } else {
+            return null;
+        }
+
+        return (TypeAdapter<T>) adapter;
+    }
+
+}
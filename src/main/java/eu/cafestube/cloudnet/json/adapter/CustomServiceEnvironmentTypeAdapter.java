@@ -0,0 +1,67 @@
+package eu.cafestube.cloudnet.json.adapter;
+
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import eu.cafestube.cloudnet.service.CustomServiceEnvironmentType;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+final class CustomServiceEnvironmentTypeAdapter extends TypeAdapter<CustomServiceEnvironmentType> {
+
+    private final TypeAdapter<JsonObject> objectAdapter;
+
+    CustomServiceEnvironmentTypeAdapter(TypeAdapter<JsonObject> objectAdapter) {
+        this.objectAdapter = objectAdapter;
+    }
+
+    @Override
+    public CustomServiceEnvironmentType read(JsonReader in) throws IOException {
+        if (JsonStreams.skipNull(in)) {
+            return null;
+        }
+
+        String name = null;
+        int defaultServiceStartPort = 0;
+        Set<String> defaultProcessArguments = null;
+        JsonObject properties = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String member = in.nextName();
+            if (JsonStreams.skipNull(in)) {
+                continue;
+            }
+
+            switch (member) {
+                case "name" -> name = in.nextString();
+                case "defaultServiceStartPort" -> defaultServiceStartPort = in.nextInt();
+                case "defaultProcessArguments" -> defaultProcessArguments = JsonStreams.readStrings(in, new LinkedHashSet<>());
+                case "properties" -> properties = this.objectAdapter.read(in);
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new CustomServiceEnvironmentType(name, defaultServiceStartPort, defaultProcessArguments, properties);
+    }
+
+    @Override
+    public void write(JsonWriter out, CustomServiceEnvironmentType value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        JsonStreams.writeString(out, "name", value.name());
+        out.name("defaultServiceStartPort").value(value.defaultServiceStartPort());
+        JsonStreams.writeStrings(out, "defaultProcessArguments", value.defaultProcessArguments());
+        JsonStreams.writeValue(out, "properties", this.objectAdapter, value.properties());
+        out.endObject();
+    }
+
+}
@@ -0,0 +1,52 @@
+package eu.cafestube.cloudnet.json.adapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import eu.cafestube.cloudnet.service.HostAndPort;
+
+import java.io.IOException;
+
+final class HostAndPortAdapter extends TypeAdapter<HostAndPort> {
+
+    @Override
+    public HostAndPort read(JsonReader in) throws IOException {
+        if (JsonStreams.skipNull(in)) {
+            return null;
+        }
+
+        String host = null;
+        int port = 0;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (JsonStreams.skipNull(in)) {
+                continue;
+            }
+
+            switch (name) {
+                case "host" -> host = in.nextString();
+                case "port" -> port = in.nextInt();
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new HostAndPort(host, port);
+    }
+
+    @Override
+    public void write(JsonWriter out, HostAndPort value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        JsonStreams.writeString(out, "host", value.host());
+        out.name("port").value(value.port());
+        out.endObject();
+    }
+
+}
@@ -0,0 +1,113 @@
+package eu.cafestube.cloudnet.json.adapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Shared reading and writing steps of the model adapters.
+ */
+final class JsonStreams {
+
+    private JsonStreams() {
+    }
+
+    /**
+     * Consumes a {@code null} value, so callers can leave the member at its default like reflective binding does.
+     */
+    static boolean skipNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return true;
+        }
+        return false;
+    }
+
+    static <C extends Collection<String>> C readStrings(JsonReader in, C target) throws IOException {
+        in.beginArray();
+        while (in.hasNext()) {
+            target.add(in.peek() == JsonToken.NULL ? nextNull(in) : in.nextString());
+        }
+        in.endArray();
+        return target;
+    }
+
+    static <T, C extends Collection<T>> C readList(JsonReader in, TypeAdapter<T> adapter, C target) throws IOException {
+        in.beginArray();
+        while (in.hasNext()) {
+            target.add(adapter.read(in));
+        }
+        in.endArray();
+        return target;
+    }
+
+    static <M extends Map<String, String>> M readStringMap(JsonReader in, M target) throws IOException {
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            target.put(name, in.peek() == JsonToken.NULL ? nextNull(in) : in.nextString());
+        }
+        in.endObject();
+        return target;
+    }
+
+    static void writeString(JsonWriter out, String name, String value) throws IOException {
+        if (value != null) {
+            out.name(name).value(value);
+        }
+    }
+
+    static void writeStrings(JsonWriter out, String name, Collection<String> values) throws IOException {
+        if (values == null) {
+            return;
+        }
+
+        out.name(name).beginArray();
+        for (String value : values) {
+            out.value(value);
+        }
+        out.endArray();
+    }
+
+    static <T> void writeList(JsonWriter out, String name, TypeAdapter<T> adapter, Collection<T> values) throws IOException {
+        if (values == null) {
+            return;
+        }
+
+        out.name(name).beginArray();
+        for (T value : values) {
+            adapter.write(out, value);
+        }
+        out.endArray();
+    }
+
+    static void writeStringMap(JsonWriter out, String name, Map<String, String> values) throws IOException {
+        if (values == null) {
+            return;
+        }
+
+        out.name(name).beginObject();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            out.name(entry.getKey()).value(entry.getValue());
+        }
+        out.endObject();
+    }
+
+    static <T> void writeValue(JsonWriter out, String name, TypeAdapter<T> adapter, T value) throws IOException {
+        if (value != null) {
+            out.name(name);
+            adapter.write(out, value);
+        }
+    }
+
+    private static String nextNull(JsonReader in) throws IOException {
+        in.nextNull();
+        return null;
+    }
+
+}
@@ -0,0 +1,65 @@
+package eu.cafestube.cloudnet.json.adapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import eu.cafestube.cloudnet.service.ProcessConfiguration;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class ProcessConfigurationAdapter extends TypeAdapter<ProcessConfiguration> {
+
+    @Override
+    public ProcessConfiguration read(JsonReader in) throws IOException {
+        if (JsonStreams.skipNull(in)) {
+            return null;
+        }
+
+        String environment = null;
+        int maxHeapMemorySize = 0;
+        List<String> jvmOptions = null;
+        List<String> processParameters = null;
+        Map<String, String> environmentVariables = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (JsonStreams.skipNull(in)) {
+                continue;
+            }
+
+            switch (name) {
+                case "environment" -> environment = in.nextString();
+                case "maxHeapMemorySize" -> maxHeapMemorySize = in.nextInt();
+                case "jvmOptions" -> jvmOptions = JsonStreams.readStrings(in, new ArrayList<>());
+                case "processParameters" -> processParameters = JsonStreams.readStrings(in, new ArrayList<>());
+                case "environmentVariables" -> environmentVariables = JsonStreams.readStringMap(in, new LinkedHashMap<>());
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new ProcessConfiguration(environment, maxHeapMemorySize, jvmOptions, processParameters, environmentVariables);
+    }
+
+    @Override
+    public void write(JsonWriter out, ProcessConfiguration value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        JsonStreams.writeString(out, "environment", value.environment());
+        out.name("maxHeapMemorySize").value(value.maxHeapMemorySize());
+        JsonStreams.writeStrings(out, "jvmOptions", value.jvmOptions());
+        JsonStreams.writeStrings(out, "processParameters", value.processParameters());
+        JsonStreams.writeStringMap(out, "environmentVariables", value.environmentVariables());
+        out.endObject();
+    }
+
+}
@@ -0,0 +1,86 @@
+package eu.cafestube.cloudnet.json.adapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import eu.cafestube.cloudnet.service.status.ProcessSnapshot;
+import eu.cafestube.cloudnet.service.status.ThreadSnapshot;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+
+final class ProcessSnapshotAdapter extends TypeAdapter<ProcessSnapshot> {
+
+    private final TypeAdapter<ThreadSnapshot> threadAdapter;
+
+    ProcessSnapshotAdapter(TypeAdapter<ThreadSnapshot> threadAdapter) {
+        this.threadAdapter = threadAdapter;
+    }
+
+    @Override
+    public ProcessSnapshot read(JsonReader in) throws IOException {
+        if (JsonStreams.skipNull(in)) {
+            return null;
+        }
+
+        long pid = 0;
+        double cpuUsage = 0;
+        double systemCpuUsage = 0;
+        long maxHeapMemory = 0;
+        long heapUsageMemory = 0;
+        long noHeapUsageMemory = 0;
+        long unloadedClassCount = 0;
+        long totalLoadedClassCount = 0;
+        int currentLoadedClassCount = 0;
+        Collection<ThreadSnapshot> threads = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (JsonStreams.skipNull(in)) {
+                continue;
+            }
+
+            switch (name) {
+                case "pid" -> pid = in.nextLong();
+                case "cpuUsage" -> cpuUsage = in.nextDouble();
+                case "systemCpuUsage" -> systemCpuUsage = in.nextDouble();
+                case "maxHeapMemory" -> maxHeapMemory = in.nextLong();
+                case "heapUsageMemory" -> heapUsageMemory = in.nextLong();
+                case "noHeapUsageMemory" -> noHeapUsageMemory = in.nextLong();
+                case "unloadedClassCount" -> unloadedClassCount = in.nextLong();
+                case "totalLoadedClassCount" -> totalLoadedClassCount = in.nextLong();
+                case "currentLoadedClassCount" -> currentLoadedClassCount = in.nextInt();
+                case "threads" -> threads = JsonStreams.readList(in, this.threadAdapter, new ArrayList<>());
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new ProcessSnapshot(pid, cpuUsage, systemCpuUsage, maxHeapMemory, heapUsageMemory, noHeapUsageMemory,
+                unloadedClassCount, totalLoadedClassCount, currentLoadedClassCount, threads);
+    }
+
+    @Override
+    public void write(JsonWriter out, ProcessSnapshot value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name("pid").value(value.pid());
+        out.name("cpuUsage").value(value.cpuUsage());
+        out.name("systemCpuUsage").value(value.systemCpuUsage());
+        out.name("maxHeapMemory").value(value.maxHeapMemory());
+        out.name("heapUsageMemory").value(value.heapUsageMemory());
+        out.name("noHeapUsageMemory").value(value.noHeapUsageMemory());
+        out.name("unloadedClassCount").value(value.unloadedClassCount());
+        out.name("totalLoadedClassCount").value(value.totalLoadedClassCount());
+        out.name("currentLoadedClassCount").value(value.currentLoadedClassCount());
+        JsonStreams.writeList(out, "threads", this.threadAdapter, value.threads());
+        out.endObject();
+    }
+
+}
@@ -0,0 +1,119 @@
+package eu.cafestube.cloudnet.json.adapter;
+
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import eu.cafestube.cloudnet.service.ProcessConfiguration;
+import eu.cafestube.cloudnet.service.ServiceConfiguration;
+import eu.cafestube.cloudnet.service.ServiceDeployment;
+import eu.cafestube.cloudnet.service.ServiceId;
+import eu.cafestube.cloudnet.service.ServiceRemoteInclusion;
+import eu.cafestube.cloudnet.service.ServiceTemplate;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+final class ServiceConfigurationAdapter extends TypeAdapter<ServiceConfiguration> {
+
+    private final TypeAdapter<ServiceId> serviceIdAdapter;
+    private final TypeAdapter<ProcessConfiguration> processAdapter;
+    private final TypeAdapter<ServiceTemplate> templateAdapter;
+    private final TypeAdapter<ServiceDeployment> deploymentAdapter;
+    private final TypeAdapter<ServiceRemoteInclusion> inclusionAdapter;
+    private final TypeAdapter<JsonObject> objectAdapter;
+
+    ServiceConfigurationAdapter(TypeAdapter<ServiceId> serviceIdAdapter, TypeAdapter<ProcessConfiguration> processAdapter,
+                                TypeAdapter<ServiceTemplate> templateAdapter, TypeAdapter<ServiceDeployment> deploymentAdapter,
+                                TypeAdapter<ServiceRemoteInclusion> inclusionAdapter, TypeAdapter<JsonObject> objectAdapter) {
+        this.serviceIdAdapter = serviceIdAdapter;
+        this.processAdapter = processAdapter;
+        this.templateAdapter = templateAdapter;
+        this.deploymentAdapter = deploymentAdapter;
+        this.inclusionAdapter = inclusionAdapter;
+        this.objectAdapter = objectAdapter;
+    }
+
+    @Override
+    public ServiceConfiguration read(JsonReader in) throws IOException {
+        if (JsonStreams.skipNull(in)) {
+            return null;
+        }
+
+        ServiceId serviceId = null;
+        ProcessConfiguration processConfig = null;
+        JsonObject retryConfiguration = null;
+        int port = 0;
+        String runtime = null;
+        String hostAddress = null;
+        String javaCommand = null;
+        boolean autoDeleteOnStop = false;
+        boolean staticService = false;
+        Set<String> groups = null;
+        Set<String> deletedFilesAfterStop = null;
+        Set<ServiceTemplate> templates = null;
+        Set<ServiceDeployment> deployments = null;
+        Set<ServiceRemoteInclusion> includes = null;
+        JsonObject properties = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (JsonStreams.skipNull(in)) {
+                continue;
+            }
+
+            switch (name) {
+                case "serviceId" -> serviceId = this.serviceIdAdapter.read(in);
+                case "processConfig" -> processConfig = this.processAdapter.read(in);
+                case "retryConfiguration" -> retryConfiguration = this.objectAdapter.read(in);
+                case "port" -> port = in.nextInt();
+                case "runtime" -> runtime = in.nextString();
+                case "hostAddress" -> hostAddress = in.nextString();
+                case "javaCommand" -> javaCommand = in.nextString();
+                case "autoDeleteOnStop" -> autoDeleteOnStop = in.nextBoolean();
+                case "staticService" -> staticService = in.nextBoolean();
+                case "groups" -> groups = JsonStreams.readStrings(in, new LinkedHashSet<>());
+                case "deletedFilesAfterStop" -> deletedFilesAfterStop = JsonStreams.readStrings(in, new LinkedHashSet<>());
+                case "templates" -> templates = JsonStreams.readList(in, this.templateAdapter, new LinkedHashSet<>());
+                case "deployments" -> deployments = JsonStreams.readList(in, this.deploymentAdapter, new LinkedHashSet<>());
+                case "includes" -> includes = JsonStreams.readList(in, this.inclusionAdapter, new LinkedHashSet<>());
+                case "properties" -> properties = this.objectAdapter.read(in);
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new ServiceConfiguration(serviceId, processConfig, retryConfiguration, port, runtime, hostAddress,
+                javaCommand, autoDeleteOnStop, staticService, groups, deletedFilesAfterStop, templates, deployments,
+                includes, properties);
+    }
+
+    @Override
+    public void write(JsonWriter out, ServiceConfiguration value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        JsonStreams.writeValue(out, "serviceId", this.serviceIdAdapter, value.serviceId());
+        JsonStreams.writeValue(out, "processConfig", this.processAdapter, value.processConfig());
+        JsonStreams.writeValue(out, "retryConfiguration", this.objectAdapter, value.retryConfiguration());
+        out.name("port").value(value.port());
+        JsonStreams.writeString(out, "runtime", value.runtime());
+        JsonStreams.writeString(out, "hostAddress", value.hostAddress());
+        JsonStreams.writeString(out, "javaCommand", value.javaCommand());
+        out.name("autoDeleteOnStop").value(value.autoDeleteOnStop());
+        out.name("staticService").value(value.staticService());
+        JsonStreams.writeStrings(out, "groups", value.groups());
+        JsonStreams.writeStrings(out, "deletedFilesAfterStop", value.deletedFilesAfterStop());
+        JsonStreams.writeList(out, "templates", this.templateAdapter, value.templates());
+        JsonStreams.writeList(out, "deployments", this.deploymentAdapter, value.deployments());
+        JsonStreams.writeList(out, "includes", this.inclusionAdapter, value.includes());
+        JsonStreams.writeValue(out, "properties", this.objectAdapter, value.properties());
+        out.endObject();
+    }
+
+}
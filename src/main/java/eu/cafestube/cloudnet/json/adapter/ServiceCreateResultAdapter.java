@@ -0,0 +1,65 @@
+package eu.cafestube.cloudnet.json.adapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import eu.cafestube.cloudnet.service.result.ServiceCreateResult;
+import eu.cafestube.cloudnet.service.status.ServiceInfoSnapshot;
+
+import java.io.IOException;
+import java.util.UUID;
+
+final class ServiceCreateResultAdapter extends TypeAdapter<ServiceCreateResult> {
+
+    private final TypeAdapter<ServiceCreateResult.State> stateAdapter;
+    private final TypeAdapter<ServiceInfoSnapshot> snapshotAdapter;
+
+    ServiceCreateResultAdapter(TypeAdapter<ServiceCreateResult.State> stateAdapter, TypeAdapter<ServiceInfoSnapshot> snapshotAdapter) {
+        this.stateAdapter = stateAdapter;
+        this.snapshotAdapter = snapshotAdapter;
+    }
+
+    @Override
+    public ServiceCreateResult read(JsonReader in) throws IOException {
+        if (JsonStreams.skipNull(in)) {
+            return null;
+        }
+
+        ServiceCreateResult.State state = null;
+        UUID creationId = null;
+        ServiceInfoSnapshot serviceInfo = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (JsonStreams.skipNull(in)) {
+                continue;
+            }
+
+            switch (name) {
+                case "state" -> state = this.stateAdapter.read(in);
+                case "creationId" -> creationId = UUID.fromString(in.nextString());
+                case "serviceInfo" -> serviceInfo = this.snapshotAdapter.read(in);
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new ServiceCreateResult(state, creationId, serviceInfo);
+    }
+
+    @Override
+    public void write(JsonWriter out, ServiceCreateResult value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        JsonStreams.writeValue(out, "state", this.stateAdapter, value.state());
+        JsonStreams.writeString(out, "creationId", value.creationId() == null ? null : value.creationId().toString());
+        JsonStreams.writeValue(out, "serviceInfo", this.snapshotAdapter, value.serviceInfo());
+        out.endObject();
+    }
+
+}
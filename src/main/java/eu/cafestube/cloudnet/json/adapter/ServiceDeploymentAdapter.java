@@ -0,0 +1,64 @@
+package eu.cafestube.cloudnet.json.adapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import eu.cafestube.cloudnet.service.ServiceDeployment;
+import eu.cafestube.cloudnet.service.ServiceTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+
+final class ServiceDeploymentAdapter extends TypeAdapter<ServiceDeployment> {
+
+    private final TypeAdapter<ServiceTemplate> templateAdapter;
+
+    ServiceDeploymentAdapter(TypeAdapter<ServiceTemplate> templateAdapter) {
+        this.templateAdapter = templateAdapter;
+    }
+
+    @Override
+    public ServiceDeployment read(JsonReader in) throws IOException {
+        if (JsonStreams.skipNull(in)) {
+            return null;
+        }
+
+        ServiceTemplate template = null;
+        Collection<String> excludes = null;
+        Collection<String> includes = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (JsonStreams.skipNull(in)) {
+                continue;
+            }
+
+            switch (name) {
+                case "template" -> template = this.templateAdapter.read(in);
+                case "excludes" -> excludes = JsonStreams.readStrings(in, new ArrayList<>());
+                case "includes" -> includes = JsonStreams.readStrings(in, new ArrayList<>());
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new ServiceDeployment(template, excludes, includes);
+    }
+
+    @Override
+    public void write(JsonWriter out, ServiceDeployment value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        JsonStreams.writeValue(out, "template", this.templateAdapter, value.template());
+        JsonStreams.writeStrings(out, "excludes", value.excludes());
+        JsonStreams.writeStrings(out, "includes", value.includes());
+        out.endObject();
+    }
+
+}
@@ -0,0 +1,81 @@
+package eu.cafestube.cloudnet.json.adapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import eu.cafestube.cloudnet.service.CustomServiceEnvironmentType;
+import eu.cafestube.cloudnet.service.ServiceId;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+final class ServiceIdAdapter extends TypeAdapter<ServiceId> {
+
+    private final TypeAdapter<CustomServiceEnvironmentType> environmentAdapter;
+
+    ServiceIdAdapter(TypeAdapter<CustomServiceEnvironmentType> environmentAdapter) {
+        this.environmentAdapter = environmentAdapter;
+    }
+
+    @Override
+    public ServiceId read(JsonReader in) throws IOException {
+        if (JsonStreams.skipNull(in)) {
+            return null;
+        }
+
+        String taskName = null;
+        String nameSplitter = null;
+        Set<String> allowedNodes = null;
+        UUID uniqueId = null;
+        int taskServiceId = 0;
+        String nodeUniqueId = null;
+        String environmentName = null;
+        CustomServiceEnvironmentType environment = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (JsonStreams.skipNull(in)) {
+                continue;
+            }
+
+            switch (name) {
+                case "taskName" -> taskName = in.nextString();
+                case "nameSplitter" -> nameSplitter = in.nextString();
+                case "allowedNodes" -> allowedNodes = JsonStreams.readStrings(in, new LinkedHashSet<>());
+                case "uniqueId" -> uniqueId = UUID.fromString(in.nextString());
+                case "taskServiceId" -> taskServiceId = in.nextInt();
+                case "nodeUniqueId" -> nodeUniqueId = in.nextString();
+                case "environmentName" -> environmentName = in.nextString();
+                case "environment" -> environment = this.environmentAdapter.read(in);
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new ServiceId(taskName, nameSplitter, allowedNodes, uniqueId, taskServiceId, nodeUniqueId,
+                environmentName, environment);
+    }
+
+    @Override
+    public void write(JsonWriter out, ServiceId value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        JsonStreams.writeString(out, "taskName", value.taskName());
+        JsonStreams.writeString(out, "nameSplitter", value.nameSplitter());
+        JsonStreams.writeStrings(out, "allowedNodes", value.allowedNodes());
+        JsonStreams.writeString(out, "uniqueId", value.uniqueId() == null ? null : value.uniqueId().toString());
+        out.name("taskServiceId").value(value.taskServiceId());
+        JsonStreams.writeString(out, "nodeUniqueId", value.nodeUniqueId());
+        JsonStreams.writeString(out, "environmentName", value.environmentName());
+        JsonStreams.writeValue(out, "environment", this.environmentAdapter, value.environment());
+        out.endObject();
+    }
+
+}
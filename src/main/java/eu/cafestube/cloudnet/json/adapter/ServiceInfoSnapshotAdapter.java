@@ -0,0 +1,89 @@
+package eu.cafestube.cloudnet.json.adapter;
+
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import eu.cafestube.cloudnet.service.HostAndPort;
+import eu.cafestube.cloudnet.service.ServiceConfiguration;
+import eu.cafestube.cloudnet.service.status.ProcessSnapshot;
+import eu.cafestube.cloudnet.service.status.ServiceInfoSnapshot;
+import eu.cafestube.cloudnet.service.status.ServiceLifeCycle;
+
+import java.io.IOException;
+
+final class ServiceInfoSnapshotAdapter extends TypeAdapter<ServiceInfoSnapshot> {
+
+    private final TypeAdapter<HostAndPort> addressAdapter;
+    private final TypeAdapter<ServiceConfiguration> configurationAdapter;
+    private final TypeAdapter<ProcessSnapshot> processAdapter;
+    private final TypeAdapter<ServiceLifeCycle> lifeCycleAdapter;
+    private final TypeAdapter<JsonObject> objectAdapter;
+
+    ServiceInfoSnapshotAdapter(TypeAdapter<HostAndPort> addressAdapter, TypeAdapter<ServiceConfiguration> configurationAdapter,
+                               TypeAdapter<ProcessSnapshot> processAdapter, TypeAdapter<ServiceLifeCycle> lifeCycleAdapter,
+                               TypeAdapter<JsonObject> objectAdapter) {
+        this.addressAdapter = addressAdapter;
+        this.configurationAdapter = configurationAdapter;
+        this.processAdapter = processAdapter;
+        this.lifeCycleAdapter = lifeCycleAdapter;
+        this.objectAdapter = objectAdapter;
+    }
+
+    @Override
+    public ServiceInfoSnapshot read(JsonReader in) throws IOException {
+        if (JsonStreams.skipNull(in)) {
+            return null;
+        }
+
+        long creationTime = 0;
+        HostAndPort address = null;
+        ServiceConfiguration configuration = null;
+        long connectedTime = 0;
+        ProcessSnapshot processSnapshot = null;
+        ServiceLifeCycle lifeCycle = null;
+        JsonObject properties = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (JsonStreams.skipNull(in)) {
+                continue;
+            }
+
+            switch (name) {
+                case "creationTime" -> creationTime = in.nextLong();
+                case "address" -> address = this.addressAdapter.read(in);
+                case "configuration" -> configuration = this.configurationAdapter.read(in);
+                case "connectedTime" -> connectedTime = in.nextLong();
+                case "processSnapshot" -> processSnapshot = this.processAdapter.read(in);
+                case "lifeCycle" -> lifeCycle = this.lifeCycleAdapter.read(in);
+                case "properties" -> properties = this.objectAdapter.read(in);
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new ServiceInfoSnapshot(creationTime, address, configuration, connectedTime, processSnapshot, lifeCycle,
+                properties);
+    }
+
+    @Override
+    public void write(JsonWriter out, ServiceInfoSnapshot value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name("creationTime").value(value.creationTime());
+        JsonStreams.writeValue(out, "address", this.addressAdapter, value.address());
+        JsonStreams.writeValue(out, "configuration", this.configurationAdapter, value.configuration());
+        out.name("connectedTime").value(value.connectedTime());
+        JsonStreams.writeValue(out, "processSnapshot", this.processAdapter, value.processSnapshot());
+        JsonStreams.writeValue(out, "lifeCycle", this.lifeCycleAdapter, value.lifeCycle());
+        JsonStreams.writeValue(out, "properties", this.objectAdapter, value.properties());
+        out.endObject();
+    }
+
+}
@@ -0,0 +1,62 @@
+package eu.cafestube.cloudnet.json.adapter;
+
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import eu.cafestube.cloudnet.service.ServiceRemoteInclusion;
+
+import java.io.IOException;
+
+final class ServiceRemoteInclusionAdapter extends TypeAdapter<ServiceRemoteInclusion> {
+
+    private final TypeAdapter<JsonObject> objectAdapter;
+
+    ServiceRemoteInclusionAdapter(TypeAdapter<JsonObject> objectAdapter) {
+        this.objectAdapter = objectAdapter;
+    }
+
+    @Override
+    public ServiceRemoteInclusion read(JsonReader in) throws IOException {
+        if (JsonStreams.skipNull(in)) {
+            return null;
+        }
+
+        String url = null;
+        String destination = null;
+        JsonObject properties = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (JsonStreams.skipNull(in)) {
+                continue;
+            }
+
+            switch (name) {
+                case "url" -> url = in.nextString();
+                case "destination" -> destination = in.nextString();
+                case "properties" -> properties = this.objectAdapter.read(in);
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new ServiceRemoteInclusion(url, destination, properties);
+    }
+
+    @Override
+    public void write(JsonWriter out, ServiceRemoteInclusion value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        JsonStreams.writeString(out, "url", value.url());
+        JsonStreams.writeString(out, "destination", value.destination());
+        JsonStreams.writeValue(out, "properties", this.objectAdapter, value.properties());
+        out.endObject();
+    }
+
+}
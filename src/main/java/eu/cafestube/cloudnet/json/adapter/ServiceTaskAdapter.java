@@ -0,0 +1,128 @@
+package eu.cafestube.cloudnet.json.adapter;
+
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import eu.cafestube.cloudnet.service.ProcessConfiguration;
+import eu.cafestube.cloudnet.service.ServiceDeployment;
+import eu.cafestube.cloudnet.service.ServiceRemoteInclusion;
+import eu.cafestube.cloudnet.service.ServiceTemplate;
+import eu.cafestube.cloudnet.task.ServiceTask;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+final class ServiceTaskAdapter extends TypeAdapter<ServiceTask> {
+
+    private final TypeAdapter<ProcessConfiguration> processAdapter;
+    private final TypeAdapter<ServiceTemplate> templateAdapter;
+    private final TypeAdapter<ServiceDeployment> deploymentAdapter;
+    private final TypeAdapter<ServiceRemoteInclusion> inclusionAdapter;
+    private final TypeAdapter<JsonObject> objectAdapter;
+
+    ServiceTaskAdapter(TypeAdapter<ProcessConfiguration> processAdapter, TypeAdapter<ServiceTemplate> templateAdapter,
+                       TypeAdapter<ServiceDeployment> deploymentAdapter, TypeAdapter<ServiceRemoteInclusion> inclusionAdapter,
+                       TypeAdapter<JsonObject> objectAdapter) {
+        this.processAdapter = processAdapter;
+        this.templateAdapter = templateAdapter;
+        this.deploymentAdapter = deploymentAdapter;
+        this.inclusionAdapter = inclusionAdapter;
+        this.objectAdapter = objectAdapter;
+    }
+
+    @Override
+    public ServiceTask read(JsonReader in) throws IOException {
+        if (JsonStreams.skipNull(in)) {
+            return null;
+        }
+
+        String name = null;
+        String runtime = null;
+        String javaCommand = null;
+        String hostAddress = null;
+        String nameSplitter = null;
+        boolean disableIpRewrite = false;
+        boolean maintenance = false;
+        boolean autoDeleteOnStop = false;
+        boolean staticServices = false;
+        Set<String> groups = null;
+        Set<String> associatedNodes = null;
+        Set<String> deletedFilesAfterStop = null;
+        ProcessConfiguration processConfiguration = null;
+        int startPort = 0;
+        int minServiceCount = 0;
+        Set<ServiceTemplate> templates = null;
+        Set<ServiceDeployment> deployments = null;
+        Set<ServiceRemoteInclusion> includes = null;
+        JsonObject properties = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String member = in.nextName();
+            if (JsonStreams.skipNull(in)) {
+                continue;
+            }
+
+            switch (member) {
+                case "name" -> name = in.nextString();
+                case "runtime" -> runtime = in.nextString();
+                case "javaCommand" -> javaCommand = in.nextString();
+                case "hostAddress" -> hostAddress = in.nextString();
+                case "nameSplitter" -> nameSplitter = in.nextString();
+                case "disableIpRewrite" -> disableIpRewrite = in.nextBoolean();
+                case "maintenance" -> maintenance = in.nextBoolean();
+                case "autoDeleteOnStop" -> autoDeleteOnStop = in.nextBoolean();
+                case "staticServices" -> staticServices = in.nextBoolean();
+                case "groups" -> groups = JsonStreams.readStrings(in, new LinkedHashSet<>());
+                case "associatedNodes" -> associatedNodes = JsonStreams.readStrings(in, new LinkedHashSet<>());
+                case "deletedFilesAfterStop" -> deletedFilesAfterStop = JsonStreams.readStrings(in, new LinkedHashSet<>());
+                case "processConfiguration" -> processConfiguration = this.processAdapter.read(in);
+                case "startPort" -> startPort = in.nextInt();
+                case "minServiceCount" -> minServiceCount = in.nextInt();
+                case "templates" -> templates = JsonStreams.readList(in, this.templateAdapter, new LinkedHashSet<>());
+                case "deployments" -> deployments = JsonStreams.readList(in, this.deploymentAdapter, new LinkedHashSet<>());
+                case "includes" -> includes = JsonStreams.readList(in, this.inclusionAdapter, new LinkedHashSet<>());
+                case "properties" -> properties = this.objectAdapter.read(in);
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new ServiceTask(name, runtime, javaCommand, hostAddress, nameSplitter, disableIpRewrite, maintenance,
+                autoDeleteOnStop, staticServices, groups, associatedNodes, deletedFilesAfterStop, processConfiguration,
+                startPort, minServiceCount, templates, deployments, includes, properties);
+    }
+
+    @Override
+    public void write(JsonWriter out, ServiceTask value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        JsonStreams.writeString(out, "name", value.name());
+        JsonStreams.writeString(out, "runtime", value.runtime());
+        JsonStreams.writeString(out, "javaCommand", value.javaCommand());
+        JsonStreams.writeString(out, "hostAddress", value.hostAddress());
+        JsonStreams.writeString(out, "nameSplitter", value.nameSplitter());
+        out.name("disableIpRewrite").value(value.disableIpRewrite());
+        out.name("maintenance").value(value.maintenance());
+        out.name("autoDeleteOnStop").value(value.autoDeleteOnStop());
+        out.name("staticServices").value(value.staticServices());
+        JsonStreams.writeStrings(out, "groups", value.groups());
+        JsonStreams.writeStrings(out, "associatedNodes", value.associatedNodes());
+        JsonStreams.writeStrings(out, "deletedFilesAfterStop", value.deletedFilesAfterStop());
+        JsonStreams.writeValue(out, "processConfiguration", this.processAdapter, value.processConfiguration());
+        out.name("startPort").value(value.startPort());
+        out.name("minServiceCount").value(value.minServiceCount());
+        JsonStreams.writeList(out, "templates", this.templateAdapter, value.templates());
+        JsonStreams.writeList(out, "deployments", this.deploymentAdapter, value.deployments());
+        JsonStreams.writeList(out, "includes", this.inclusionAdapter, value.includes());
+        JsonStreams.writeValue(out, "properties", this.objectAdapter, value.properties());
+        out.endObject();
+    }
+
+}
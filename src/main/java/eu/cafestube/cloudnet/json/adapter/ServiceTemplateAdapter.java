@@ -0,0 +1,61 @@
+package eu.cafestube.cloudnet.json.adapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import eu.cafestube.cloudnet.service.ServiceTemplate;
+
+import java.io.IOException;
+
+final class ServiceTemplateAdapter extends TypeAdapter<ServiceTemplate> {
+
+    @Override
+    public ServiceTemplate read(JsonReader in) throws IOException {
+        if (JsonStreams.skipNull(in)) {
+            return null;
+        }
+
+        String prefix = null;
+        String name = null;
+        String storage = null;
+        int priority = 0;
+        boolean alwaysCopyToStaticServices = false;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String member = in.nextName();
+            if (JsonStreams.skipNull(in)) {
+                continue;
+            }
+
+            switch (member) {
+                case "prefix" -> prefix = in.nextString();
+                case "name" -> name = in.nextString();
+                case "storage" -> storage = in.nextString();
+                case "priority" -> priority = in.nextInt();
+                case "alwaysCopyToStaticServices" -> alwaysCopyToStaticServices = in.nextBoolean();
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new ServiceTemplate(prefix, name, storage, priority, alwaysCopyToStaticServices);
+    }
+
+    @Override
+    public void write(JsonWriter out, ServiceTemplate value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        JsonStreams.writeString(out, "prefix", value.prefix());
+        JsonStreams.writeString(out, "name", value.name());
+        JsonStreams.writeString(out, "storage", value.storage());
+        out.name("priority").value(value.priority());
+        out.name("alwaysCopyToStaticServices").value(value.alwaysCopyToStaticServices());
+        out.endObject();
+    }
+
+}
@@ -0,0 +1,70 @@
+package eu.cafestube.cloudnet.json.adapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import eu.cafestube.cloudnet.template.TemplateFile;
+
+import java.io.IOException;
+
+final class TemplateFileAdapter extends TypeAdapter<TemplateFile> {
+
+    @Override
+    public TemplateFile read(JsonReader in) throws IOException {
+        if (JsonStreams.skipNull(in)) {
+            return null;
+        }
+
+        String path = null;
+        String name = null;
+        boolean directory = false;
+        boolean hidden = false;
+        long creationTime = 0;
+        long lastModified = 0;
+        long lastAccess = 0;
+        long size = 0;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String member = in.nextName();
+            if (JsonStreams.skipNull(in)) {
+                continue;
+            }
+
+            switch (member) {
+                case "path" -> path = in.nextString();
+                case "name" -> name = in.nextString();
+                case "directory" -> directory = in.nextBoolean();
+                case "hidden" -> hidden = in.nextBoolean();
+                case "creationTime" -> creationTime = in.nextLong();
+                case "lastModified" -> lastModified = in.nextLong();
+                case "lastAccess" -> lastAccess = in.nextLong();
+                case "size" -> size = in.nextLong();
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new TemplateFile(path, name, directory, hidden, creationTime, lastModified, lastAccess, size);
+    }
+
+    @Override
+    public void write(JsonWriter out, TemplateFile value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        JsonStreams.writeString(out, "path", value.path());
+        JsonStreams.writeString(out, "name", value.name());
+        out.name("directory").value(value.directory());
+        out.name("hidden").value(value.hidden());
+        out.name("creationTime").value(value.creationTime());
+        out.name("lastModified").value(value.lastModified());
+        out.name("lastAccess").value(value.lastAccess());
+        out.name("size").value(value.size());
+        out.endObject();
+    }
+
+}
@@ -0,0 +1,67 @@
+package eu.cafestube.cloudnet.json.adapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import eu.cafestube.cloudnet.service.status.ThreadSnapshot;
+
+import java.io.IOException;
+
+final class ThreadSnapshotAdapter extends TypeAdapter<ThreadSnapshot> {
+
+    private final TypeAdapter<Thread.State> stateAdapter;
+
+    ThreadSnapshotAdapter(TypeAdapter<Thread.State> stateAdapter) {
+        this.stateAdapter = stateAdapter;
+    }
+
+    @Override
+    public ThreadSnapshot read(JsonReader in) throws IOException {
+        if (JsonStreams.skipNull(in)) {
+            return null;
+        }
+
+        long id = 0;
+        int priority = 0;
+        boolean daemon = false;
+        String name = null;
+        Thread.State threadState = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String member = in.nextName();
+            if (JsonStreams.skipNull(in)) {
+                continue;
+            }
+
+            switch (member) {
+                case "id" -> id = in.nextLong();
+                case "priority" -> priority = in.nextInt();
+                case "daemon" -> daemon = in.nextBoolean();
+                case "name" -> name = in.nextString();
+                case "threadState" -> threadState = this.stateAdapter.read(in);
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new ThreadSnapshot(id, priority, daemon, name, threadState);
+    }
+
+    @Override
+    public void write(JsonWriter out, ThreadSnapshot value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name("id").value(value.id());
+        out.name("priority").value(value.priority());
+        out.name("daemon").value(value.daemon());
+        JsonStreams.writeString(out, "name", value.name());
+        JsonStreams.writeValue(out, "threadState", this.stateAdapter, value.threadState());
+        out.endObject();
+    }
+
+}
@@ -0,0 +1,34 @@
+package eu.cafestube.cloudnet.metrics;
+
+import eu.cafestube.cloudnet.resilience.CircuitBreaker;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Instrumentation hooks of the client. Endpoints are reported as path templates such as {@code service/{id}} or
+ * {@code task/{name}}, nodes by their host. Implementations are called on the request threads and must not block.
+ */
+public interface CloudNetMetrics {
+
+    static @NotNull CloudNetMetrics noop() {
+        return NoopMetrics.INSTANCE;
+    }
+
+    default void onResponse(@NotNull String endpoint, @NotNull String node, int statusCode, long latencyNanos) {
+    }
+
+    default void onFailure(@NotNull String endpoint, @NotNull String node, @NotNull Throwable error, long latencyNanos) {
+    }
+
+    default void onBytesReceived(@NotNull String endpoint, long bytes) {
+    }
+
+    default void onRetry(@NotNull String endpoint, int attempt) {
+    }
+
+    default void onLogin(@NotNull String node) {
+    }
+
+    default void onCircuitBreakerStateChange(@NotNull String node, @NotNull CircuitBreaker.State state) {
+    }
+
+}
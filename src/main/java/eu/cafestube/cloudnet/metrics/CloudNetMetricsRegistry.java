@@ -0,0 +1,117 @@
+package eu.cafestube.cloudnet.metrics;
+
+import eu.cafestube.cloudnet.resilience.CircuitBreaker;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Simple in-memory {@link CloudNetMetrics} implementation for callers that don't bring their own metrics library.
+ */
+public class CloudNetMetricsRegistry implements CloudNetMetrics {
+
+    private static final String[] STATUS_CLASSES = {"1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    private final ConcurrentMap<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> logins = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CircuitBreaker.State> circuitBreakers = new ConcurrentHashMap<>();
+
+    @Override
+    public void onResponse(@NotNull String endpoint, @NotNull String node, int statusCode, long latencyNanos) {
+        EndpointMetrics metrics = endpoint(endpoint);
+        metrics.requests.increment();
+        int statusClass = statusCode / 100 - 1;
+        if (statusClass >= 0 && statusClass < STATUS_CLASSES.length) {
+            metrics.statusClasses[statusClass].increment();
+        }
+        metrics.latency.record(latencyNanos);
+    }
+
+    @Override
+    public void onFailure(@NotNull String endpoint, @NotNull String node, @NotNull Throwable error, long latencyNanos) {
+        EndpointMetrics metrics = endpoint(endpoint);
+        metrics.requests.increment();
+        metrics.failures.increment();
+        metrics.latency.record(latencyNanos);
+    }
+
+    @Override
+    public void onBytesReceived(@NotNull String endpoint, long bytes) {
+        endpoint(endpoint).bytesReceived.add(bytes);
+    }
+
+    @Override
+    public void onRetry(@NotNull String endpoint, int attempt) {
+        endpoint(endpoint).retries.increment();
+    }
+
+    @Override
+    public void onLogin(@NotNull String node) {
+        this.logins.computeIfAbsent(node, key -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void onCircuitBreakerStateChange(@NotNull String node, @NotNull CircuitBreaker.State state) {
+        this.circuitBreakers.put(node, state);
+    }
+
+    public @NotNull Map<String, EndpointMetricsSnapshot> snapshot() {
+        Map<String, EndpointMetricsSnapshot> snapshot = new LinkedHashMap<>();
+        this.endpoints.forEach((endpoint, metrics) -> snapshot.put(endpoint, metrics.snapshot(endpoint)));
+        return snapshot;
+    }
+
+    public @NotNull Map<String, Long> logins() {
+        Map<String, Long> logins = new LinkedHashMap<>();
+        this.logins.forEach((node, count) -> logins.put(node, count.sum()));
+        return logins;
+    }
+
+    public @NotNull Map<String, CircuitBreaker.State> circuitBreakerStates() {
+        return Map.copyOf(this.circuitBreakers);
+    }
+
+    private EndpointMetrics endpoint(String endpoint) {
+        return this.endpoints.computeIfAbsent(endpoint, key -> new EndpointMetrics());
+    }
+
+    private static final class EndpointMetrics {
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder[] statusClasses = new LongAdder[STATUS_CLASSES.length];
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder bytesReceived = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private EndpointMetrics() {
+            for (int i = 0; i < this.statusClasses.length; i++) {
+                this.statusClasses[i] = new LongAdder();
+            }
+        }
+
+        private EndpointMetricsSnapshot snapshot(String endpoint) {
+            Map<String, Long> statusClasses = new LinkedHashMap<>();
+            for (int i = 0; i < STATUS_CLASSES.length; i++) {
+                statusClasses.put(STATUS_CLASSES[i], this.statusClasses[i].sum());
+            }
+
+            return new EndpointMetricsSnapshot(
+                    endpoint,
+                    this.requests.sum(),
+                    statusClasses,
+                    this.failures.sum(),
+                    this.retries.sum(),
+                    this.bytesReceived.sum(),
+                    this.latency.percentile(0.5),
+                    this.latency.percentile(0.99),
+                    this.latency.percentile(0.999)
+            );
+        }
+    }
+
+}
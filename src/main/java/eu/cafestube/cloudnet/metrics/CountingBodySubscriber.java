@@ -0,0 +1,60 @@
+package eu.cafestube.cloudnet.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.function.LongConsumer;
+
+/**
+ * Passes the body through unchanged while counting the received bytes, reported once the body is complete.
+ */
+public final class CountingBodySubscriber<T> implements HttpResponse.BodySubscriber<T> {
+
+    private final HttpResponse.BodySubscriber<T> delegate;
+    private final LongConsumer onComplete;
+    private long bytes;
+
+    private CountingBodySubscriber(HttpResponse.BodySubscriber<T> delegate, LongConsumer onComplete) {
+        this.delegate = delegate;
+        this.onComplete = onComplete;
+    }
+
+    public static <T> @NotNull HttpResponse.BodyHandler<T> wrap(@NotNull HttpResponse.BodyHandler<T> handler, @NotNull LongConsumer onComplete) {
+        return responseInfo -> new CountingBodySubscriber<>(handler.apply(responseInfo), onComplete);
+    }
+
+    @Override
+    public CompletionStage<T> getBody() {
+        return this.delegate.getBody();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.delegate.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> items) {
+        for (ByteBuffer item : items) {
+            this.bytes += item.remaining();
+        }
+        this.delegate.onNext(items);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        this.onComplete.accept(this.bytes);
+        this.delegate.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        this.onComplete.accept(this.bytes);
+        this.delegate.onComplete();
+    }
+
+}
@@ -0,0 +1,19 @@
+package eu.cafestube.cloudnet.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.Map;
+
+public record EndpointMetricsSnapshot(
+        @NotNull String endpoint,
+        long requests,
+        @NotNull Map<String, Long> statusClasses,
+        long failures,
+        long retries,
+        long bytesReceived,
+        @NotNull Duration p50,
+        @NotNull Duration p99,
+        @NotNull Duration p999
+) {
+}
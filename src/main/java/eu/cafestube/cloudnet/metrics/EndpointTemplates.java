@@ -0,0 +1,47 @@
+package eu.cafestube.cloudnet.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collapses concrete request paths into the templates metrics are keyed by, so every service id or template doesn't
+ * end up as its own time series.
+ */
+public final class EndpointTemplates {
+
+    // fixed sub-paths that would otherwise be taken for an id or name
+    private static final Map<String, Set<String>> LITERAL_SEGMENTS = Map.of(
+            "service", Set.of("create", "liveEvents")
+    );
+    private static final List<String> DEFAULT_PLACEHOLDERS = List.of("{id}");
+    private static final Map<String, List<String>> PLACEHOLDERS = Map.of(
+            "service", List.of("{id}"),
+            "task", List.of("{name}"),
+            "template", List.of("{storage}", "{prefix}", "{name}")
+    );
+
+    private EndpointTemplates() {
+    }
+
+    public static @NotNull String of(@NotNull String path) {
+        int query = path.indexOf('?');
+        String[] segments = (query == -1 ? path : path.substring(0, query)).split("/");
+        if (segments.length < 2) {
+            return segments[0];
+        }
+
+        List<String> placeholders = LITERAL_SEGMENTS.getOrDefault(segments[0], Set.of()).contains(segments[1])
+                ? List.of()
+                : PLACEHOLDERS.getOrDefault(segments[0], DEFAULT_PLACEHOLDERS);
+        StringBuilder template = new StringBuilder(segments[0]);
+        for (int i = 1; i < segments.length; i++) {
+            template.append('/');
+            template.append(i <= placeholders.size() ? placeholders.get(i - 1) : segments[i]);
+        }
+        return template.toString();
+    }
+
+}
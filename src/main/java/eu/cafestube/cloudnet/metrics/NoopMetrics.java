@@ -0,0 +1,10 @@
+package eu.cafestube.cloudnet.metrics;
+
+final class NoopMetrics implements CloudNetMetrics {
+
+    static final NoopMetrics INSTANCE = new NoopMetrics();
+
+    private NoopMetrics() {
+    }
+
+}
@@ -0,0 +1,33 @@
+package eu.cafestube.cloudnet.monitor;
+
+import eu.cafestube.cloudnet.service.status.ProcessSnapshot;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The values of a {@link ProcessSnapshot} recorded by a {@link ProcessSeries}.
+ */
+public enum ProcessMetric {
+
+    CPU_USAGE(ProcessSnapshot::cpuUsage),
+    SYSTEM_CPU_USAGE(ProcessSnapshot::systemCpuUsage),
+    HEAP_USAGE(ProcessSnapshot::heapUsageMemory),
+    NON_HEAP_USAGE(ProcessSnapshot::noHeapUsageMemory),
+    MAX_HEAP(ProcessSnapshot::maxHeapMemory),
+    LOADED_CLASSES(ProcessSnapshot::currentLoadedClassCount),
+    THREADS(snapshot -> snapshot.threads() == null ? 0 : snapshot.threads().size());
+
+    static final ProcessMetric[] VALUES = values();
+
+    private final ToDoubleFunction<ProcessSnapshot> extractor;
+
+    ProcessMetric(ToDoubleFunction<ProcessSnapshot> extractor) {
+        this.extractor = extractor;
+    }
+
+    public double extract(@NotNull ProcessSnapshot snapshot) {
+        return this.extractor.applyAsDouble(snapshot);
+    }
+
+}
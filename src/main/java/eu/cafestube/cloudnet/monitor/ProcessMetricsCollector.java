@@ -0,0 +1,218 @@
+package eu.cafestube.cloudnet.monitor;
+
+import com.google.common.base.Preconditions;
+import eu.cafestube.cloudnet.CloudNetApiClient;
+import eu.cafestube.cloudnet.CloudNetServiceManager;
+import eu.cafestube.cloudnet.registry.ServiceRegistry;
+import eu.cafestube.cloudnet.service.ServiceId;
+import eu.cafestube.cloudnet.service.status.ServiceInfoSnapshot;
+import eu.cafestube.cloudnet.service.status.ServiceLifeCycle;
+import eu.cafestube.cloudnet.util.PeriodicTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Samples the {@link eu.cafestube.cloudnet.service.status.ProcessSnapshot} of every running service matching a filter
+ * on a schedule and keeps the values in one {@link ProcessSeries} per service. All services are fetched with one bulk
+ * request per sample, or read from a {@link ServiceRegistry} if one is given.
+ * <p>
+ * Memory is bounded by {@code capacity} samples per tracked service, the series of a service is dropped once it no
+ * longer matches or disappeared.
+ */
+public final class ProcessMetricsCollector implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(ProcessMetricsCollector.class.getName());
+
+    private final CloudNetServiceManager serviceManager;
+    private final @Nullable ServiceRegistry registry;
+    private final Predicate<ServiceInfoSnapshot> filter;
+    private final int capacity;
+    private final PeriodicTask sampling;
+    private final Map<UUID, TrackedService> series = new ConcurrentHashMap<>();
+
+    private ProcessMetricsCollector(Builder builder) {
+        this.serviceManager = builder.client.getServiceManager();
+        this.registry = builder.registry;
+        this.filter = builder.filter;
+        this.capacity = builder.capacity;
+        this.sampling = new PeriodicTask(this::sampleQuietly, builder.interval, builder.scheduler,
+                "cloudnet-process-metrics-%d");
+    }
+
+    public static @NotNull Builder builder(@NotNull CloudNetApiClient client) {
+        return new Builder(client);
+    }
+
+    public synchronized void start() {
+        Preconditions.checkState(!this.sampling.isStarted(), "Collector already started");
+        this.sampling.start();
+    }
+
+    @Override
+    public synchronized void close() {
+        this.sampling.close();
+    }
+
+    /**
+     * Records one sample of every matching service.
+     */
+    public void sample() {
+        long now = System.currentTimeMillis();
+        Set<UUID> seen = new HashSet<>();
+        for (ServiceInfoSnapshot service : loadServices()) {
+            if (service.lifeCycle() != ServiceLifeCycle.RUNNING || service.processSnapshot() == null
+                    || !this.filter.test(service)) {
+                continue;
+            }
+
+            ServiceId serviceId = service.configuration().serviceId();
+            seen.add(serviceId.uniqueId());
+            this.series.computeIfAbsent(serviceId.uniqueId(),
+                            id -> new TrackedService(nameOf(serviceId), new ProcessSeries(this.capacity)))
+                    .series.record(now, service.processSnapshot());
+        }
+        this.series.keySet().retainAll(seen);
+    }
+
+    private void sampleQuietly() {
+        try {
+            sample();
+        } catch (RuntimeException e) {
+            // a failed sample leaves a gap, the schedule has to keep running
+            LOGGER.log(Level.WARNING, "Failed to sample process metrics", e);
+        }
+    }
+
+    private Collection<ServiceInfoSnapshot> loadServices() {
+        if (this.registry != null && this.registry.isReady()) {
+            return this.registry.getServices();
+        }
+        try (Stream<ServiceInfoSnapshot> services = this.serviceManager.getServices()) {
+            return services.toList();
+        }
+    }
+
+    public @Nullable ProcessSeries getSeries(@NotNull UUID serviceId) {
+        TrackedService tracked = this.series.get(serviceId);
+        return tracked == null ? null : tracked.series;
+    }
+
+    public @NotNull Set<UUID> getTrackedServices() {
+        return Collections.unmodifiableSet(this.series.keySet());
+    }
+
+    /**
+     * Aggregates of {@code metric} over {@code window} for every tracked service.
+     */
+    public @NotNull List<ServiceSeriesStats> stats(@NotNull ProcessMetric metric, @NotNull Duration window) {
+        List<ServiceSeriesStats> result = new ArrayList<>(this.series.size());
+        this.series.forEach((id, tracked) -> {
+            SeriesStats stats = tracked.series.stats(metric, window);
+            if (!stats.isEmpty()) {
+                result.add(new ServiceSeriesStats(id, tracked.name, stats));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * The {@code limit} services with the highest average of {@code metric} over {@code window}, e.g. CPU hot spots.
+     */
+    public @NotNull List<ServiceSeriesStats> top(@NotNull ProcessMetric metric, @NotNull Duration window, int limit) {
+        return stats(metric, window).stream()
+                .sorted(Comparator.comparingDouble((ServiceSeriesStats stats) -> stats.stats().average()).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * The {@code limit} services whose {@code metric} grew fastest over {@code window}, e.g. heap creep.
+     */
+    public @NotNull List<ServiceSeriesStats> fastestGrowing(@NotNull ProcessMetric metric, @NotNull Duration window, int limit) {
+        return stats(metric, window).stream()
+                .filter(stats -> stats.stats().slopePerSecond() > 0)
+                .sorted(Comparator.comparingDouble((ServiceSeriesStats stats) -> stats.stats().slopePerSecond()).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private static String nameOf(ServiceId serviceId) {
+        String splitter = serviceId.nameSplitter() == null ? "-" : serviceId.nameSplitter();
+        return serviceId.taskName() + splitter + serviceId.taskServiceId();
+    }
+
+    private record TrackedService(String name, ProcessSeries series) {
+    }
+
+    public static class Builder {
+
+        private final CloudNetApiClient client;
+        private ServiceRegistry registry;
+        private Predicate<ServiceInfoSnapshot> filter = service -> true;
+        private int capacity = 360;
+        private Duration interval = Duration.ofSeconds(10);
+        private ScheduledExecutorService scheduler;
+
+        private Builder(CloudNetApiClient client) {
+            this.client = client;
+        }
+
+        public @NotNull Builder registry(@Nullable ServiceRegistry registry) {
+            this.registry = registry;
+            return this;
+        }
+
+        public @NotNull Builder filter(@NotNull Predicate<ServiceInfoSnapshot> filter) {
+            this.filter = filter;
+            return this;
+        }
+
+        public @NotNull Builder tasks(@NotNull String... taskNames) {
+            Set<String> names = Set.of(taskNames);
+            return filter(service -> names.contains(service.configuration().serviceId().taskName()));
+        }
+
+        /**
+         * Samples kept per service, with the default interval 360 samples cover one hour.
+         */
+        public @NotNull Builder capacity(int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        public @NotNull Builder interval(@NotNull Duration interval) {
+            this.interval = interval;
+            return this;
+        }
+
+        public @NotNull Builder scheduler(@Nullable ScheduledExecutorService scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        public @NotNull ProcessMetricsCollector build() {
+            Preconditions.checkArgument(this.capacity > 0, "capacity must be positive");
+            Preconditions.checkArgument(this.interval.toMillis() > 0, "interval must be positive");
+
+            return new ProcessMetricsCollector(this);
+        }
+    }
+
+}
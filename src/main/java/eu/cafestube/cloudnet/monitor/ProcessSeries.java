@@ -0,0 +1,150 @@
+package eu.cafestube.cloudnet.monitor;
+
+import com.google.common.base.Preconditions;
+import eu.cafestube.cloudnet.service.status.ProcessSnapshot;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Fixed-size time series of the {@link ProcessMetric}s of one service. Samples are stored in preallocated primitive
+ * arrays, recording one allocates nothing and once the buffer is full the oldest sample is overwritten.
+ * <p>
+ * Windows are measured back from the newest sample. Recording and queries are synchronized on the series, a query
+ * holds the lock for one pass over its window.
+ */
+public final class ProcessSeries {
+
+    private static final int METRICS = ProcessMetric.VALUES.length;
+
+    private final int capacity;
+    private final long[] timestamps;
+    // one row of capacity slots per metric
+    private final double[] values;
+
+    private int next;
+    private int size;
+
+    public ProcessSeries(int capacity) {
+        Preconditions.checkArgument(capacity > 0, "capacity must be positive");
+        this.capacity = capacity;
+        this.timestamps = new long[capacity];
+        this.values = new double[capacity * METRICS];
+    }
+
+    public synchronized void record(long timestampMillis, @NotNull ProcessSnapshot snapshot) {
+        int slot = this.next;
+        this.timestamps[slot] = timestampMillis;
+        for (ProcessMetric metric : ProcessMetric.VALUES) {
+            this.values[metric.ordinal() * this.capacity + slot] = metric.extract(snapshot);
+        }
+
+        this.next = slot + 1 == this.capacity ? 0 : slot + 1;
+        if (this.size < this.capacity) {
+            this.size++;
+        }
+    }
+
+    public int capacity() {
+        return this.capacity;
+    }
+
+    public synchronized int size() {
+        return this.size;
+    }
+
+    /**
+     * Timestamp of the newest sample, {@code -1} if nothing was recorded yet.
+     */
+    public synchronized long latestTimestamp() {
+        return this.size == 0 ? -1 : this.timestamps[newest()];
+    }
+
+    public synchronized double latest(@NotNull ProcessMetric metric) {
+        return this.size == 0 ? Double.NaN : this.values[metric.ordinal() * this.capacity + newest()];
+    }
+
+    public synchronized @NotNull SeriesStats stats(@NotNull ProcessMetric metric, @NotNull Duration window) {
+        int count = windowSize(window);
+        if (count == 0) {
+            return new SeriesStats(metric, 0, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+        }
+
+        int row = metric.ordinal() * this.capacity;
+        long origin = this.timestamps[newest()];
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double sum = 0;
+        // sums for the least squares slope, time relative to the newest sample to keep the terms small
+        double sumT = 0;
+        double sumTT = 0;
+        double sumTV = 0;
+
+        int slot = newest();
+        for (int i = 0; i < count; i++) {
+            double value = this.values[row + slot];
+            double t = (this.timestamps[slot] - origin) / 1000D;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            sum += value;
+            sumT += t;
+            sumTT += t * t;
+            sumTV += t * value;
+            slot = slot == 0 ? this.capacity - 1 : slot - 1;
+        }
+
+        double denominator = count * sumTT - sumT * sumT;
+        double slope = count < 2 || denominator == 0 ? 0 : (count * sumTV - sumT * sum) / denominator;
+        return new SeriesStats(metric, count, min, max, sum / count, slope);
+    }
+
+    /**
+     * Nearest-rank percentile of a metric over the window, e.g. {@code percentile(CPU_USAGE, window, 0.95)}.
+     */
+    public double percentile(@NotNull ProcessMetric metric, @NotNull Duration window, double percentile) {
+        double[] values = values(metric, window);
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+
+        Arrays.sort(values);
+        int rank = (int) Math.ceil(percentile * values.length);
+        return values[Math.min(values.length - 1, Math.max(0, rank - 1))];
+    }
+
+    /**
+     * The samples of a metric within the window, oldest first.
+     */
+    public synchronized double @NotNull [] values(@NotNull ProcessMetric metric, @NotNull Duration window) {
+        int count = windowSize(window);
+        double[] result = new double[count];
+        int row = metric.ordinal() * this.capacity;
+        int slot = newest();
+        for (int i = count - 1; i >= 0; i--) {
+            result[i] = this.values[row + slot];
+            slot = slot == 0 ? this.capacity - 1 : slot - 1;
+        }
+        return result;
+    }
+
+    private int newest() {
+        return this.next == 0 ? this.capacity - 1 : this.next - 1;
+    }
+
+    private int windowSize(Duration window) {
+        if (this.size == 0) {
+            return 0;
+        }
+
+        long from = this.timestamps[newest()] - window.toMillis();
+        int slot = newest();
+        int count = 0;
+        while (count < this.size && this.timestamps[slot] >= from) {
+            count++;
+            slot = slot == 0 ? this.capacity - 1 : slot - 1;
+        }
+        return count;
+    }
+
+}
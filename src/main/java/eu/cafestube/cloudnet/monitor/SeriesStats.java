@@ -0,0 +1,22 @@
+package eu.cafestube.cloudnet.monitor;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Aggregates of one metric over a window of samples. {@code slopePerSecond} is the least squares trend of the window,
+ * a steadily positive value on {@link ProcessMetric#HEAP_USAGE} points at heap creep.
+ */
+public record SeriesStats(
+        @NotNull ProcessMetric metric,
+        int count,
+        double min,
+        double max,
+        double average,
+        double slopePerSecond
+) {
+
+    public boolean isEmpty() {
+        return this.count == 0;
+    }
+
+}
@@ -0,0 +1,12 @@
+package eu.cafestube.cloudnet.monitor;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+public record ServiceSeriesStats(
+        @NotNull UUID serviceId,
+        @NotNull String name,
+        @NotNull SeriesStats stats
+) {
+}
@@ -0,0 +1,17 @@
+package eu.cafestube.cloudnet.pool;
+
+import eu.cafestube.cloudnet.service.status.ServiceInfoSnapshot;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+
+/**
+ * A service handed out by a {@link ServicePool}. {@code snapshot} is the state the service had when it was pooled or
+ * created, {@code pooled} tells whether it came from the pool or had to be created because the pool was empty.
+ */
+public record ClaimedService(
+        @NotNull ServiceInfoSnapshot snapshot,
+        boolean pooled,
+        @NotNull Duration latency
+) {
+}
@@ -0,0 +1,349 @@
+package eu.cafestube.cloudnet.pool;
+
+import com.google.common.base.Preconditions;
+import eu.cafestube.cloudnet.CloudNetApiClient;
+import eu.cafestube.cloudnet.CloudNetServiceManager;
+import eu.cafestube.cloudnet.registry.ServiceRegistry;
+import eu.cafestube.cloudnet.service.LifecycleUpdate;
+import eu.cafestube.cloudnet.service.result.BatchLifecycleUpdateResult;
+import eu.cafestube.cloudnet.service.result.LifecycleUpdateResult;
+import eu.cafestube.cloudnet.service.status.ServiceInfoSnapshot;
+import eu.cafestube.cloudnet.service.status.ServiceLifeCycle;
+import eu.cafestube.cloudnet.util.PeriodicTask;
+import eu.cafestube.cloudnet.util.ServiceSnapshots;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static eu.cafestube.cloudnet.util.ServiceSnapshots.idOf;
+import static eu.cafestube.cloudnet.util.ServiceSnapshots.taskOf;
+
+/**
+ * Keeps a number of {@code PREPARED} services per task, so handing one out only needs a single start request instead
+ * of creating the service on the critical path.
+ * <p>
+ * {@link #claim(String)} takes the oldest pooled service and starts it, the pool is refilled in the background right
+ * after. A pooled service that can't be started any more is dropped, and stopped unless it was deleted on the node,
+ * then the next one is tried. With an empty pool the claim falls back to creating and starting a new service.
+ * <p>
+ * Tasks managed by a pool shouldn't also have a warm pool in an {@link eu.cafestube.cloudnet.autoscale.Autoscaler}, both would hand out the same
+ * prepared services.
+ */
+public final class ServicePool implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(ServicePool.class.getName());
+
+    private final CloudNetServiceManager serviceManager;
+    private final @Nullable ServiceRegistry registry;
+    private final Map<String, TaskPool> pools;
+    private final boolean adoptExisting;
+    private final PeriodicTask refill;
+    private final int parallelism;
+
+    private volatile boolean closed;
+
+    private ServicePool(Builder builder) {
+        this.serviceManager = builder.client.getServiceManager();
+        this.registry = builder.registry;
+        this.adoptExisting = builder.adoptExisting;
+        this.refill = new PeriodicTask(this::refill, builder.refillInterval, builder.scheduler, "cloudnet-service-pool-%d");
+        this.parallelism = builder.parallelism;
+
+        Map<String, TaskPool> pools = new LinkedHashMap<>();
+        builder.sizes.forEach((taskName, size) -> pools.put(taskName, new TaskPool(taskName, size)));
+        this.pools = Map.copyOf(pools);
+    }
+
+    public static @NotNull Builder builder(@NotNull CloudNetApiClient client) {
+        return new Builder(client);
+    }
+
+    /**
+     * Adopts already prepared services if configured, fills every pool and keeps refilling them every
+     * {@code refillInterval}.
+     */
+    public synchronized void start() {
+        Preconditions.checkState(!this.refill.isStarted(), "Pool already started");
+        Preconditions.checkState(!this.closed, "Pool already closed");
+
+        if (this.adoptExisting) {
+            adopt();
+        }
+        this.refill.start();
+    }
+
+    /**
+     * Stops refilling. Pooled services are kept on the node, use {@link #drain()} to stop them.
+     */
+    @Override
+    public synchronized void close() {
+        this.closed = true;
+        this.refill.close();
+    }
+
+    /**
+     * Hands out a service of {@code taskName}. The future completes once the start request was accepted.
+     */
+    public @NotNull CompletableFuture<ClaimedService> claim(@NotNull String taskName) {
+        TaskPool pool = pool(taskName);
+        CompletableFuture<ClaimedService> claim = claim(pool, System.nanoTime());
+        refill(pool);
+        return claim;
+    }
+
+    private CompletableFuture<ClaimedService> claim(TaskPool pool, long start) {
+        ServiceInfoSnapshot service = pool.services.pollFirst();
+        if (service == null) {
+            return this.serviceManager.createServiceAsync(pool.taskName, true).thenApply(result -> {
+                if (!ServiceSnapshots.isCreated(result)) {
+                    throw new RuntimeException("Failed to create service for task " + pool.taskName);
+                }
+                return new ClaimedService(result.serviceInfo(), false, Duration.ofNanos(System.nanoTime() - start));
+            });
+        }
+
+        return this.serviceManager.updateServiceStatesAsync(LifecycleUpdate.START, List.of(idOf(service)), 1)
+                .thenCompose(result -> {
+                    if (result.isSuccess()) {
+                        return CompletableFuture.completedFuture(
+                                new ClaimedService(service, true, Duration.ofNanos(System.nanoTime() - start)));
+                    }
+
+                    discard(pool, service, result.failures().get(0));
+                    CompletableFuture<ClaimedService> next = claim(pool, start);
+                    refill(pool);
+                    return next;
+                });
+    }
+
+    /**
+     * Drops a pooled service that couldn't be started. Unless the node no longer knows it, the service is stopped so
+     * it isn't left prepared on the node without a pool tracking it.
+     */
+    private void discard(TaskPool pool, ServiceInfoSnapshot service, LifecycleUpdateResult failure) {
+        LOGGER.log(Level.WARNING, "Dropping pooled service " + idOf(service) + " of task " + pool.taskName
+                + ", it couldn't be started (status " + failure.statusCode() + ")", failure.error());
+        if (failure.statusCode() == 404) {
+            return;
+        }
+
+        this.serviceManager.updateServiceStatesAsync(LifecycleUpdate.STOP, List.of(idOf(service)), 1)
+                .whenComplete((result, throwable) -> {
+                    if (throwable != null || !result.isSuccess()) {
+                        LOGGER.log(Level.WARNING, "Failed to stop discarded pooled service " + idOf(service)
+                                + " of task " + pool.taskName + ", it may stay prepared on the node", throwable);
+                    }
+                });
+    }
+
+    /**
+     * Number of services currently available for {@code taskName}.
+     */
+    public int available(@NotNull String taskName) {
+        return pool(taskName).services.size();
+    }
+
+    /**
+     * Creates the missing services of every pool in the background.
+     */
+    public void refill() {
+        for (TaskPool pool : this.pools.values()) {
+            try {
+                prune(pool);
+                refill(pool);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Failed to refill pool of task " + pool.taskName, e);
+            }
+        }
+    }
+
+    /**
+     * Empties every pool and stops the services that were in it.
+     */
+    public @NotNull CompletableFuture<BatchLifecycleUpdateResult> drain() {
+        List<UUID> drained = new ArrayList<>();
+        for (TaskPool pool : this.pools.values()) {
+            ServiceInfoSnapshot service;
+            while ((service = pool.services.pollFirst()) != null) {
+                drained.add(idOf(service));
+            }
+        }
+        return this.serviceManager.updateServiceStatesAsync(LifecycleUpdate.STOP, drained, this.parallelism);
+    }
+
+    private void refill(TaskPool pool) {
+        if (this.closed) {
+            return;
+        }
+
+        int missing;
+        synchronized (pool) {
+            missing = pool.size - pool.services.size() - pool.creating;
+            if (missing <= 0) {
+                return;
+            }
+            pool.creating += missing;
+        }
+
+        this.serviceManager.createServicesAsync(pool.taskName, missing, false, this.parallelism)
+                .whenComplete((results, throwable) -> {
+                    synchronized (pool) {
+                        pool.creating -= missing;
+                    }
+
+                    if (throwable != null) {
+                        LOGGER.log(Level.WARNING, "Failed to refill pool of task " + pool.taskName, throwable);
+                        return;
+                    }
+
+                    List<ServiceInfoSnapshot> created = ServiceSnapshots.created(results);
+                    created.forEach(pool.services::addLast);
+                    int failed = results.size() - created.size();
+                    if (failed > 0) {
+                        LOGGER.warning(failed + " of " + missing + " pooled services of task " + pool.taskName
+                                + " couldn't be created");
+                    }
+                });
+    }
+
+    /**
+     * Drops pooled services the registry reports in another state. Services it doesn't know yet are kept, they may
+     * just have been created.
+     */
+    private void prune(TaskPool pool) {
+        if (this.registry == null || !this.registry.isReady()) {
+            return;
+        }
+
+        pool.services.removeIf(service -> {
+            ServiceInfoSnapshot current = this.registry.get(idOf(service));
+            return current != null && current.lifeCycle() != ServiceLifeCycle.PREPARED;
+        });
+    }
+
+    private void adopt() {
+        Set<UUID> pooled = new HashSet<>();
+        for (TaskPool pool : this.pools.values()) {
+            for (ServiceInfoSnapshot service : pool.services) {
+                pooled.add(idOf(service));
+            }
+        }
+
+        for (ServiceInfoSnapshot service : loadPrepared()) {
+            TaskPool pool = this.pools.get(taskOf(service));
+            if (pool != null && pool.services.size() < pool.size && pooled.add(idOf(service))) {
+                pool.services.addLast(service);
+            }
+        }
+    }
+
+    private List<ServiceInfoSnapshot> loadPrepared() {
+        if (this.registry != null && this.registry.isReady()) {
+            return this.registry.getServicesByLifeCycle(ServiceLifeCycle.PREPARED);
+        }
+        try (Stream<ServiceInfoSnapshot> services = this.serviceManager.getServicesByLifeCycle(ServiceLifeCycle.PREPARED)) {
+            return services.toList();
+        }
+    }
+
+    private TaskPool pool(String taskName) {
+        TaskPool pool = this.pools.get(taskName);
+        Preconditions.checkArgument(pool != null, "No pool for task %s", taskName);
+        return pool;
+    }
+
+    private static final class TaskPool {
+
+        private final String taskName;
+        private final int size;
+        private final Deque<ServiceInfoSnapshot> services = new ConcurrentLinkedDeque<>();
+        private int creating;
+
+        private TaskPool(String taskName, int size) {
+            this.taskName = taskName;
+            this.size = size;
+        }
+
+    }
+
+    public static class Builder {
+
+        private final CloudNetApiClient client;
+        private final Map<String, Integer> sizes = new LinkedHashMap<>();
+        private ServiceRegistry registry;
+        private boolean adoptExisting = true;
+        private Duration refillInterval = Duration.ofSeconds(30);
+        private ScheduledExecutorService scheduler;
+        private int parallelism = CloudNetServiceManager.DEFAULT_BATCH_PARALLELISM;
+
+        private Builder(CloudNetApiClient client) {
+            this.client = client;
+        }
+
+        public @NotNull Builder task(@NotNull String taskName, int size) {
+            Preconditions.checkArgument(size > 0, "size must be positive");
+            this.sizes.put(taskName, size);
+            return this;
+        }
+
+        /**
+         * Lets the pool drop services the registry no longer reports as prepared.
+         */
+        public @NotNull Builder registry(@Nullable ServiceRegistry registry) {
+            this.registry = registry;
+            return this;
+        }
+
+        /**
+         * Whether prepared services that already exist on start are taken into the pool, e.g. the ones left by a
+         * previous instance. Enabled by default.
+         */
+        public @NotNull Builder adoptExisting(boolean adoptExisting) {
+            this.adoptExisting = adoptExisting;
+            return this;
+        }
+
+        public @NotNull Builder refillInterval(@NotNull Duration refillInterval) {
+            this.refillInterval = refillInterval;
+            return this;
+        }
+
+        /**
+         * Runs the periodic refill on the given scheduler, which is left running on {@link ServicePool#close()}.
+         * Without one the pool uses its own single daemon thread.
+         */
+        public @NotNull Builder scheduler(@Nullable ScheduledExecutorService scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        public @NotNull Builder parallelism(int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        public @NotNull ServicePool build() {
+            Preconditions.checkArgument(!this.sizes.isEmpty(), "no task given");
+            Preconditions.checkArgument(this.refillInterval.toMillis() > 0, "refillInterval must be positive");
+            Preconditions.checkArgument(this.parallelism > 0, "parallelism must be positive");
+
+            return new ServicePool(this);
+        }
+    }
+
+}
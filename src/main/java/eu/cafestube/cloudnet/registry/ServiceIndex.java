@@ -0,0 +1,90 @@
+package eu.cafestube.cloudnet.registry;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable key to service id index. Updates copy the outer map and the buckets they touch, every other bucket is
+ * shared with the previous version.
+ */
+final class ServiceIndex<K> {
+
+    private static final ServiceIndex<?> EMPTY = new ServiceIndex<>(Map.of());
+
+    private final Map<K, Set<UUID>> buckets;
+
+    private ServiceIndex(Map<K, Set<UUID>> buckets) {
+        this.buckets = buckets;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K> ServiceIndex<K> empty() {
+        return (ServiceIndex<K>) EMPTY;
+    }
+
+    static <K> ServiceIndex<K> of(Map<K, Set<UUID>> buckets) {
+        Map<K, Set<UUID>> copy = new HashMap<>(buckets.size());
+        buckets.forEach((key, ids) -> copy.put(key, Collections.unmodifiableSet(new HashSet<>(ids))));
+        return new ServiceIndex<>(Collections.unmodifiableMap(copy));
+    }
+
+    Set<UUID> get(K key) {
+        return this.buckets.getOrDefault(key, Set.of());
+    }
+
+    Set<K> keys() {
+        return this.buckets.keySet();
+    }
+
+    Editor<K> edit() {
+        return new Editor<>(this);
+    }
+
+    /**
+     * Collects changes to an index and applies them at once. Every touched bucket and the outer map are copied a
+     * single time, no matter how many changes hit them.
+     */
+    static final class Editor<K> {
+
+        private final ServiceIndex<K> base;
+        private final Map<K, Set<UUID>> touched = new HashMap<>();
+
+        private Editor(ServiceIndex<K> base) {
+            this.base = base;
+        }
+
+        void add(K key, UUID id) {
+            bucket(key).add(id);
+        }
+
+        void remove(K key, UUID id) {
+            bucket(key).remove(id);
+        }
+
+        private Set<UUID> bucket(K key) {
+            return this.touched.computeIfAbsent(key, k -> new HashSet<>(this.base.get(k)));
+        }
+
+        ServiceIndex<K> build() {
+            if (this.touched.isEmpty()) {
+                return this.base;
+            }
+
+            Map<K, Set<UUID>> buckets = new HashMap<>(this.base.buckets);
+            this.touched.forEach((key, ids) -> {
+                if (ids.isEmpty()) {
+                    buckets.remove(key);
+                } else {
+                    buckets.put(key, Collections.unmodifiableSet(ids));
+                }
+            });
+            return new ServiceIndex<>(Collections.unmodifiableMap(buckets));
+        }
+
+    }
+
+}
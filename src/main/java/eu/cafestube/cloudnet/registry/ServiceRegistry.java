@@ -0,0 +1,224 @@
+package eu.cafestube.cloudnet.registry;
+
+import com.google.common.base.Preconditions;
+import eu.cafestube.cloudnet.CloudNetServiceManager;
+import eu.cafestube.cloudnet.event.ServiceEvent;
+import eu.cafestube.cloudnet.event.ServiceEventListener;
+import eu.cafestube.cloudnet.event.ServiceEventSubscription;
+import eu.cafestube.cloudnet.request.BatchDispatcher;
+import eu.cafestube.cloudnet.resilience.RetryPolicy;
+import eu.cafestube.cloudnet.service.status.ServiceInfoSnapshot;
+import eu.cafestube.cloudnet.service.status.ServiceLifeCycle;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Local view of all services, seeded with one bulk fetch and kept current by the service event stream.
+ * <p>
+ * Lookups never touch the network or take a lock, they read the current {@link ServiceRegistrySnapshot}. Updates are
+ * collected on the event delivery thread and published by swapping in a new snapshot once the delivery queue is
+ * drained, so readers always see a consistent state and a burst of events costs a single copy.
+ * <p>
+ * The registry reseeds itself after every reconnect, events missed while disconnected are covered by the fresh fetch.
+ * The fetch doesn't block the delivery thread and is retried with backoff until it succeeds. Events arriving in the
+ * meantime are held back and applied on top of it, except those received before the fetch was sent, which it
+ * already reflects.
+ */
+public final class ServiceRegistry implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(ServiceRegistry.class.getName());
+    private static final RetryPolicy SEED_POLICY = new RetryPolicy(5, Duration.ofMillis(500), Duration.ofSeconds(30), 2, 0.5);
+
+    private final CloudNetServiceManager serviceManager;
+    private final int bufferSize;
+    private final Executor executor;
+    private final CompletableFuture<ServiceRegistry> ready = new CompletableFuture<>();
+
+    // latest event per service that isn't published yet, guarded by this map
+    private final Map<UUID, ServiceEvent> unpublished = new LinkedHashMap<>();
+
+    private volatile ServiceRegistrySnapshot snapshot = ServiceRegistrySnapshot.empty();
+    private volatile boolean seeded;
+    private ServiceEventSubscription subscription;
+    private boolean closed;
+    private int generation;
+    private boolean seeding;
+
+    public ServiceRegistry(@NotNull CloudNetServiceManager serviceManager) {
+        this(serviceManager, CloudNetServiceManager.DEFAULT_EVENT_BUFFER_SIZE, ForkJoinPool.commonPool());
+    }
+
+    public ServiceRegistry(@NotNull CloudNetServiceManager serviceManager, int bufferSize, @NotNull Executor executor) {
+        this.serviceManager = serviceManager;
+        this.bufferSize = bufferSize;
+        this.executor = executor;
+    }
+
+    /**
+     * Subscribes to the event stream, the returned future completes once the initial fetch was applied.
+     */
+    public synchronized @NotNull CompletableFuture<ServiceRegistry> start() {
+        Preconditions.checkState(this.subscription == null, "Registry already started");
+        this.subscription = this.serviceManager.subscribeServiceEvents(new Listener(), this.bufferSize, this.executor);
+        return this.ready.copy();
+    }
+
+    @Override
+    public synchronized void close() {
+        synchronized (this.unpublished) {
+            this.closed = true;
+        }
+        if (this.subscription != null) {
+            this.subscription.close();
+        }
+    }
+
+    public boolean isReady() {
+        return this.seeded;
+    }
+
+    public @NotNull ServiceRegistrySnapshot snapshot() {
+        return this.snapshot;
+    }
+
+    public @Nullable ServiceInfoSnapshot get(@NotNull UUID id) {
+        return this.snapshot.get(id);
+    }
+
+    public @NotNull Collection<ServiceInfoSnapshot> getServices() {
+        return this.snapshot.getServices();
+    }
+
+    public @NotNull List<ServiceInfoSnapshot> getServicesByTask(@NotNull String taskName) {
+        return this.snapshot.getServicesByTask(taskName);
+    }
+
+    public @NotNull List<ServiceInfoSnapshot> getServicesByGroup(@NotNull String group) {
+        return this.snapshot.getServicesByGroup(group);
+    }
+
+    public @NotNull List<ServiceInfoSnapshot> getServicesByNode(@NotNull String nodeUniqueId) {
+        return this.snapshot.getServicesByNode(nodeUniqueId);
+    }
+
+    public @NotNull List<ServiceInfoSnapshot> getServicesByLifeCycle(@NotNull ServiceLifeCycle lifeCycle) {
+        return this.snapshot.getServicesByLifeCycle(lifeCycle);
+    }
+
+    public @NotNull List<ServiceInfoSnapshot> find(@Nullable String taskName, @Nullable String nodeUniqueId,
+                                                   @Nullable ServiceLifeCycle lifeCycle) {
+        return this.snapshot.find(taskName, nodeUniqueId, lifeCycle);
+    }
+
+    private void reseed() {
+        int generation;
+        synchronized (this.unpublished) {
+            generation = ++this.generation;
+            this.seeding = true;
+            // everything held back so far predates the new connection, the fetch covers it
+            this.unpublished.clear();
+        }
+        seed(generation, 1);
+    }
+
+    private void seed(int generation, int attempt) {
+        long sentAt = System.nanoTime();
+        this.serviceManager.getServicesAsync().whenComplete((services, throwable) -> {
+            if (throwable == null) {
+                seeded(generation, sentAt, ServiceRegistrySnapshot.of(services));
+            } else {
+                seedFailed(generation, attempt, BatchDispatcher.unwrap(throwable));
+            }
+        });
+    }
+
+    private void seeded(int generation, long sentAt, ServiceRegistrySnapshot fetched) {
+        synchronized (this.unpublished) {
+            if (this.closed || generation != this.generation) {
+                return;
+            }
+
+            List<ServiceInfoSnapshot> newer = new ArrayList<>(this.unpublished.size());
+            for (ServiceEvent event : this.unpublished.values()) {
+                if (event.receivedAt() - sentAt >= 0) {
+                    newer.add(event.snapshot());
+                }
+            }
+            this.unpublished.clear();
+            this.seeding = false;
+            this.snapshot = fetched.withAll(newer);
+        }
+        this.seeded = true;
+        this.ready.complete(this);
+    }
+
+    private void seedFailed(int generation, int attempt, Throwable cause) {
+        synchronized (this.unpublished) {
+            if (this.closed || generation != this.generation) {
+                return;
+            }
+        }
+
+        // the caller of start() learns about a persistent failure, the registry itself keeps trying
+        if (!SEED_POLICY.canRetry(attempt)) {
+            this.ready.completeExceptionally(cause);
+        }
+        Duration delay = SEED_POLICY.backoff(attempt);
+        LOGGER.log(Level.WARNING, "Failed to fetch services, retrying in " + delay.toMillis() + "ms", cause);
+        CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS, this.executor)
+                .execute(() -> seed(generation, attempt + 1));
+    }
+
+    private void publish() {
+        synchronized (this.unpublished) {
+            if (this.seeding || this.unpublished.isEmpty()) {
+                return;
+            }
+
+            List<ServiceInfoSnapshot> updates = new ArrayList<>(this.unpublished.size());
+            for (ServiceEvent event : this.unpublished.values()) {
+                updates.add(event.snapshot());
+            }
+            this.unpublished.clear();
+            this.snapshot = this.snapshot.withAll(updates);
+        }
+    }
+
+    private final class Listener implements ServiceEventListener {
+
+        @Override
+        public void onEvent(@NotNull ServiceEvent event) {
+            synchronized (unpublished) {
+                // only the latest state of a service matters, re-inserting keeps the map in arrival order
+                unpublished.remove(event.serviceId());
+                unpublished.put(event.serviceId(), event);
+            }
+        }
+
+        @Override
+        public void onDrained() {
+            publish();
+        }
+
+        @Override
+        public void onConnect(boolean reconnect) {
+            reseed();
+        }
+
+    }
+
+}
@@ -0,0 +1,274 @@
+package eu.cafestube.cloudnet.registry;
+
+import eu.cafestube.cloudnet.service.ServiceConfiguration;
+import eu.cafestube.cloudnet.service.status.ServiceInfoSnapshot;
+import eu.cafestube.cloudnet.service.status.ServiceLifeCycle;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static eu.cafestube.cloudnet.util.ServiceSnapshots.idOf;
+import static eu.cafestube.cloudnet.util.ServiceSnapshots.nodeOf;
+import static eu.cafestube.cloudnet.util.ServiceSnapshots.taskOf;
+
+/**
+ * Immutable, internally consistent view of every known service. Instances are never modified, an update produces a
+ * new snapshot, so readers can hold on to one and query it as often as they like.
+ */
+public final class ServiceRegistrySnapshot {
+
+    private static final ServiceRegistrySnapshot EMPTY = new ServiceRegistrySnapshot(Map.of(),
+            ServiceIndex.empty(), ServiceIndex.empty(), ServiceIndex.empty(), ServiceIndex.empty());
+
+    private final Map<UUID, ServiceInfoSnapshot> services;
+    private final ServiceIndex<String> byTask;
+    private final ServiceIndex<String> byGroup;
+    private final ServiceIndex<String> byNode;
+    private final ServiceIndex<ServiceLifeCycle> byLifeCycle;
+
+    private ServiceRegistrySnapshot(Map<UUID, ServiceInfoSnapshot> services, ServiceIndex<String> byTask,
+                                    ServiceIndex<String> byGroup, ServiceIndex<String> byNode,
+                                    ServiceIndex<ServiceLifeCycle> byLifeCycle) {
+        this.services = services;
+        this.byTask = byTask;
+        this.byGroup = byGroup;
+        this.byNode = byNode;
+        this.byLifeCycle = byLifeCycle;
+    }
+
+    public static @NotNull ServiceRegistrySnapshot empty() {
+        return EMPTY;
+    }
+
+    public static @NotNull ServiceRegistrySnapshot of(@NotNull Collection<ServiceInfoSnapshot> snapshots) {
+        Map<UUID, ServiceInfoSnapshot> services = new HashMap<>(snapshots.size());
+        Map<String, Set<UUID>> byTask = new HashMap<>();
+        Map<String, Set<UUID>> byGroup = new HashMap<>();
+        Map<String, Set<UUID>> byNode = new HashMap<>();
+        Map<ServiceLifeCycle, Set<UUID>> byLifeCycle = new HashMap<>();
+
+        for (ServiceInfoSnapshot snapshot : snapshots) {
+            if (snapshot.lifeCycle() == ServiceLifeCycle.DELETED) {
+                continue;
+            }
+
+            UUID id = idOf(snapshot);
+            services.put(id, snapshot);
+            byTask.computeIfAbsent(taskOf(snapshot), key -> new HashSet<>()).add(id);
+            for (String group : groupsOf(snapshot)) {
+                byGroup.computeIfAbsent(group, key -> new HashSet<>()).add(id);
+            }
+            String node = nodeOf(snapshot);
+            if (node != null) {
+                byNode.computeIfAbsent(node, key -> new HashSet<>()).add(id);
+            }
+            byLifeCycle.computeIfAbsent(snapshot.lifeCycle(), key -> new HashSet<>()).add(id);
+        }
+
+        return new ServiceRegistrySnapshot(Collections.unmodifiableMap(services), ServiceIndex.of(byTask),
+                ServiceIndex.of(byGroup), ServiceIndex.of(byNode), ServiceIndex.of(byLifeCycle));
+    }
+
+    /**
+     * Returns the snapshot with {@code snapshot} added or replacing the previous version of the same service. Deleted
+     * services are removed instead.
+     */
+    public @NotNull ServiceRegistrySnapshot with(@NotNull ServiceInfoSnapshot snapshot) {
+        return withAll(List.of(snapshot));
+    }
+
+    /**
+     * Applies {@link #with(ServiceInfoSnapshot)} for every given snapshot in order, copying the underlying maps only
+     * once for the whole batch.
+     */
+    public @NotNull ServiceRegistrySnapshot withAll(@NotNull Collection<ServiceInfoSnapshot> snapshots) {
+        if (snapshots.isEmpty()) {
+            return this;
+        }
+
+        Changes changes = new Changes(this);
+        for (ServiceInfoSnapshot snapshot : snapshots) {
+            if (snapshot.lifeCycle() == ServiceLifeCycle.DELETED) {
+                changes.remove(idOf(snapshot));
+            } else {
+                changes.put(snapshot);
+            }
+        }
+        return changes.build();
+    }
+
+    public @NotNull ServiceRegistrySnapshot without(@NotNull UUID id) {
+        if (!this.services.containsKey(id)) {
+            return this;
+        }
+
+        Changes changes = new Changes(this);
+        changes.remove(id);
+        return changes.build();
+    }
+
+    public @Nullable ServiceInfoSnapshot get(@NotNull UUID id) {
+        return this.services.get(id);
+    }
+
+    public @NotNull Collection<ServiceInfoSnapshot> getServices() {
+        return this.services.values();
+    }
+
+    public @NotNull List<ServiceInfoSnapshot> getServicesByTask(@NotNull String taskName) {
+        return resolve(this.byTask.get(taskName));
+    }
+
+    public @NotNull List<ServiceInfoSnapshot> getServicesByGroup(@NotNull String group) {
+        return resolve(this.byGroup.get(group));
+    }
+
+    public @NotNull List<ServiceInfoSnapshot> getServicesByNode(@NotNull String nodeUniqueId) {
+        return resolve(this.byNode.get(nodeUniqueId));
+    }
+
+    public @NotNull List<ServiceInfoSnapshot> getServicesByLifeCycle(@NotNull ServiceLifeCycle lifeCycle) {
+        return resolve(this.byLifeCycle.get(lifeCycle));
+    }
+
+    /**
+     * Services matching every given criterion, {@code null} criteria match everything, e.g.
+     * {@code find("Lobby", "Node-2", ServiceLifeCycle.RUNNING)}.
+     */
+    public @NotNull List<ServiceInfoSnapshot> find(@Nullable String taskName, @Nullable String nodeUniqueId,
+                                                   @Nullable ServiceLifeCycle lifeCycle) {
+        List<Set<UUID>> criteria = new ArrayList<>(3);
+        if (taskName != null) {
+            criteria.add(this.byTask.get(taskName));
+        }
+        if (nodeUniqueId != null) {
+            criteria.add(this.byNode.get(nodeUniqueId));
+        }
+        if (lifeCycle != null) {
+            criteria.add(this.byLifeCycle.get(lifeCycle));
+        }
+        if (criteria.isEmpty()) {
+            return List.copyOf(this.services.values());
+        }
+
+        // walk the smallest bucket and probe the others
+        Set<UUID> smallest = criteria.get(0);
+        for (Set<UUID> candidate : criteria) {
+            if (candidate.size() < smallest.size()) {
+                smallest = candidate;
+            }
+        }
+
+        List<ServiceInfoSnapshot> result = new ArrayList<>(smallest.size());
+        outer:
+        for (UUID id : smallest) {
+            for (Set<UUID> candidate : criteria) {
+                if (!candidate.contains(id)) {
+                    continue outer;
+                }
+            }
+            result.add(this.services.get(id));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    public @NotNull Set<String> getTaskNames() {
+        return this.byTask.keys();
+    }
+
+    public @NotNull Set<String> getGroups() {
+        return this.byGroup.keys();
+    }
+
+    public @NotNull Set<String> getNodes() {
+        return this.byNode.keys();
+    }
+
+    public int size() {
+        return this.services.size();
+    }
+
+    private List<ServiceInfoSnapshot> resolve(Set<UUID> ids) {
+        List<ServiceInfoSnapshot> result = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            result.add(this.services.get(id));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Mutable copy of a snapshot's maps that a batch of updates is applied to before it is frozen again.
+     */
+    private static final class Changes {
+
+        private final Map<UUID, ServiceInfoSnapshot> services;
+        private final ServiceIndex.Editor<String> byTask;
+        private final ServiceIndex.Editor<String> byGroup;
+        private final ServiceIndex.Editor<String> byNode;
+        private final ServiceIndex.Editor<ServiceLifeCycle> byLifeCycle;
+
+        private Changes(ServiceRegistrySnapshot base) {
+            this.services = new HashMap<>(base.services);
+            this.byTask = base.byTask.edit();
+            this.byGroup = base.byGroup.edit();
+            this.byNode = base.byNode.edit();
+            this.byLifeCycle = base.byLifeCycle.edit();
+        }
+
+        private void put(ServiceInfoSnapshot snapshot) {
+            UUID id = idOf(snapshot);
+            unindex(id, this.services.put(id, snapshot));
+
+            this.byTask.add(taskOf(snapshot), id);
+            for (String group : groupsOf(snapshot)) {
+                this.byGroup.add(group, id);
+            }
+            String node = nodeOf(snapshot);
+            if (node != null) {
+                this.byNode.add(node, id);
+            }
+            this.byLifeCycle.add(snapshot.lifeCycle(), id);
+        }
+
+        private void remove(UUID id) {
+            unindex(id, this.services.remove(id));
+        }
+
+        private void unindex(UUID id, @Nullable ServiceInfoSnapshot previous) {
+            if (previous == null) {
+                return;
+            }
+
+            this.byTask.remove(taskOf(previous), id);
+            for (String group : groupsOf(previous)) {
+                this.byGroup.remove(group, id);
+            }
+            String node = nodeOf(previous);
+            if (node != null) {
+                this.byNode.remove(node, id);
+            }
+            this.byLifeCycle.remove(previous.lifeCycle(), id);
+        }
+
+        private ServiceRegistrySnapshot build() {
+            return new ServiceRegistrySnapshot(Collections.unmodifiableMap(this.services), this.byTask.build(),
+                    this.byGroup.build(), this.byNode.build(), this.byLifeCycle.build());
+        }
+
+    }
+
+    private static Set<String> groupsOf(ServiceInfoSnapshot snapshot) {
+        ServiceConfiguration configuration = snapshot.configuration();
+        return configuration.groups() == null ? Set.of() : configuration.groups();
+    }
+
+}
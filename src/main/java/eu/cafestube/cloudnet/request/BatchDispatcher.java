@@ -0,0 +1,103 @@
+package eu.cafestube.cloudnet.request;
+
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Runs one asynchronous call per item with at most {@code parallelism} calls in flight. A failing item is mapped
+ * through the fallback instead of failing the whole batch, results keep the order of the input items.
+ */
+public final class BatchDispatcher {
+
+    private BatchDispatcher() {
+    }
+
+    public static <I, R> @NotNull CompletableFuture<List<R>> dispatch(@NotNull List<? extends I> items, int parallelism,
+                                                                      @NotNull Function<? super I, CompletableFuture<R>> action,
+                                                                      @NotNull BiFunction<? super I, Throwable, R> fallback) {
+        Preconditions.checkArgument(parallelism > 0, "parallelism must be positive");
+
+        List<CompletableFuture<R>> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            results.add(new CompletableFuture<>());
+        }
+
+        new Launcher<>(items, results, parallelism, action, fallback).drain();
+
+        return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> results.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Launches items while slots are free. Calls that complete synchronously (an open circuit breaker, a rejected
+     * permit) release their slot from inside {@link #drain()}; the work-in-progress counter turns that re-entry into
+     * another pass of the running loop instead of a nested call, so the stack depth stays constant.
+     */
+    private static final class Launcher<I, R> {
+
+        private final List<? extends I> items;
+        private final List<CompletableFuture<R>> results;
+        private final Function<? super I, CompletableFuture<R>> action;
+        private final BiFunction<? super I, Throwable, R> fallback;
+        private final AtomicInteger slots;
+        private final AtomicInteger wip = new AtomicInteger();
+        private int next;
+
+        private Launcher(List<? extends I> items, List<CompletableFuture<R>> results, int parallelism,
+                         Function<? super I, CompletableFuture<R>> action, BiFunction<? super I, Throwable, R> fallback) {
+            this.items = items;
+            this.results = results;
+            this.action = action;
+            this.fallback = fallback;
+            this.slots = new AtomicInteger(parallelism);
+        }
+
+        private void drain() {
+            if (this.wip.getAndIncrement() != 0) {
+                return;
+            }
+
+            do {
+                while (this.next < this.items.size() && this.slots.get() > 0) {
+                    this.slots.decrementAndGet();
+                    launch(this.next++);
+                }
+            } while (this.wip.decrementAndGet() != 0);
+        }
+
+        private void launch(int index) {
+            I item = this.items.get(index);
+            CompletableFuture<R> call;
+            try {
+                call = this.action.apply(item);
+            } catch (RuntimeException e) {
+                call = CompletableFuture.failedFuture(e);
+            }
+
+            call.handle((result, throwable) -> throwable == null ? result : this.fallback.apply(item, unwrap(throwable)))
+                    .whenComplete((result, throwable) -> {
+                        if (throwable != null) {
+                            this.results.get(index).completeExceptionally(throwable);
+                        } else {
+                            this.results.get(index).complete(result);
+                        }
+                        this.slots.incrementAndGet();
+                        drain();
+                    });
+        }
+
+    }
+
+    public static @NotNull Throwable unwrap(@NotNull Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+    }
+
+}
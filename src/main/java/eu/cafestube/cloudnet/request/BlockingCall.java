@@ -0,0 +1,10 @@
+package eu.cafestube.cloudnet.request;
+
+import eu.cafestube.cloudnet.CloudNetApiClient;
+
+@FunctionalInterface
+public interface BlockingCall<T> {
+
+    T call(CloudNetApiClient client) throws Exception;
+
+}
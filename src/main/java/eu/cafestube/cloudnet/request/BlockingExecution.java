@@ -0,0 +1,93 @@
+package eu.cafestube.cloudnet.request;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs blocking client calls off the caller's thread. The semaphore is acquired on the worker itself, which is
+ * cheap on virtual threads and keeps the number of calls hitting the node bounded no matter how many are queued.
+ */
+public final class BlockingExecution implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final Semaphore semaphore;
+    private final int maxConcurrency;
+    private final boolean ownsExecutor;
+
+    private BlockingExecution(ExecutorService executor, int maxConcurrency, boolean ownsExecutor) {
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+        this.semaphore = maxConcurrency > 0 ? new Semaphore(maxConcurrency, true) : null;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    public static @NotNull BlockingExecution virtualThreads(int maxConcurrency) {
+        return new BlockingExecution(VirtualThreads.newVirtualThreadPerTaskExecutor(), maxConcurrency, true);
+    }
+
+    public static @NotNull BlockingExecution of(@NotNull ExecutorService executor, int maxConcurrency) {
+        return new BlockingExecution(executor, maxConcurrency, false);
+    }
+
+    public static @NotNull BlockingExecution defaults(int maxConcurrency) {
+        if (VirtualThreads.isSupported()) {
+            return virtualThreads(maxConcurrency);
+        }
+
+        return new BlockingExecution(Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "cloudnet-rest-blocking");
+            thread.setDaemon(true);
+            return thread;
+        }), maxConcurrency, true);
+    }
+
+    public <T> @NotNull CompletableFuture<T> submit(@NotNull Callable<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            this.executor.execute(() -> {
+                try {
+                    if (this.semaphore != null) {
+                        this.semaphore.acquire();
+                    }
+                    try {
+                        future.complete(call.call());
+                    } finally {
+                        if (this.semaphore != null) {
+                            this.semaphore.release();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    future.completeExceptionally(e);
+                } catch (Throwable throwable) {
+                    future.completeExceptionally(throwable);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    public int maxConcurrency() {
+        return this.maxConcurrency;
+    }
+
+    public int availablePermits() {
+        return this.semaphore == null ? Integer.MAX_VALUE : this.semaphore.availablePermits();
+    }
+
+    @Override
+    public void close() {
+        if (this.ownsExecutor) {
+            this.executor.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+package eu.cafestube.cloudnet.request;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Shares one outstanding lookup between all callers asking for the same key at the same time. Blocking and
+ * asynchronous callers share the same in-flight map, so either kind can piggyback on the other.
+ */
+public final class RequestCoalescer<V> {
+
+    private final ConcurrentMap<String, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V run(@NotNull String key, @NotNull Supplier<V> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = this.inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return join(existing);
+        }
+
+        try {
+            V value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (Throwable t) {
+            // waiters must not hang on errors either
+            future.completeExceptionally(t);
+            throw t;
+        } finally {
+            this.inFlight.remove(key, future);
+        }
+    }
+
+    public @NotNull CompletableFuture<V> runAsync(@NotNull String key, @NotNull Supplier<CompletableFuture<V>> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = this.inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return existing.copy();
+        }
+
+        CompletableFuture<V> load;
+        try {
+            load = loader.get();
+        } catch (RuntimeException e) {
+            load = CompletableFuture.failedFuture(e);
+        } catch (Throwable t) {
+            this.inFlight.remove(key, future);
+            future.completeExceptionally(t);
+            throw t;
+        }
+
+        load.whenComplete((value, throwable) -> {
+            this.inFlight.remove(key, future);
+            if (throwable != null) {
+                future.completeExceptionally(throwable);
+            } else {
+                future.complete(value);
+            }
+        });
+        // callers only ever get a copy so none of them can complete or cancel the shared future
+        return future.copy();
+    }
+
+    /**
+     * Lets the next caller for {@code key} start a new lookup instead of joining the outstanding one, e.g. because
+     * the value it will return is known to be stale. Callers already waiting still get its result.
+     */
+    public void forget(@NotNull String key) {
+        this.inFlight.remove(key);
+    }
+
+    public void forgetAll() {
+        this.inFlight.clear();
+    }
+
+    public int inFlightCount() {
+        return this.inFlight.size();
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+}
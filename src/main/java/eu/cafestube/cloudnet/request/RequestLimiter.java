@@ -0,0 +1,104 @@
+package eu.cafestube.cloudnet.request;
+
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Caps the number of requests in flight. Unlike a plain semaphore, permits can be awaited asynchronously, so the
+ * async API never parks a thread while waiting for a free slot.
+ */
+public final class RequestLimiter {
+
+    private static final RequestLimiter UNLIMITED = new RequestLimiter(Integer.MAX_VALUE);
+    private static final CompletableFuture<Void> GRANTED = CompletableFuture.completedFuture(null);
+
+    private final int maxPermits;
+    private final Queue<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private int available;
+
+    private RequestLimiter(int maxPermits) {
+        this.maxPermits = maxPermits;
+        this.available = maxPermits;
+    }
+
+    public static @NotNull RequestLimiter of(int maxPermits) {
+        Preconditions.checkArgument(maxPermits > 0, "maxPermits must be positive");
+        return maxPermits == Integer.MAX_VALUE ? UNLIMITED : new RequestLimiter(maxPermits);
+    }
+
+    public static @NotNull RequestLimiter unlimited() {
+        return UNLIMITED;
+    }
+
+    public @NotNull CompletableFuture<Void> acquire() {
+        if (this == UNLIMITED) {
+            return GRANTED;
+        }
+
+        synchronized (this) {
+            if (this.available > 0) {
+                this.available--;
+                return GRANTED;
+            }
+
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            this.waiters.add(waiter);
+            return waiter;
+        }
+    }
+
+    public void acquireBlocking() throws InterruptedException {
+        CompletableFuture<Void> permit = acquire();
+        try {
+            permit.get();
+        } catch (InterruptedException e) {
+            // the permit may have been handed over while we were interrupted, give it back in that case
+            if (!permit.cancel(false)) {
+                release();
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public void release() {
+        if (this == UNLIMITED) {
+            return;
+        }
+
+        while (true) {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                next = this.waiters.poll();
+                if (next == null) {
+                    this.available = Math.min(this.maxPermits, this.available + 1);
+                    return;
+                }
+            }
+
+            // cancelled waiters gave up on the permit, pass it on to the next one
+            if (next.complete(null)) {
+                return;
+            }
+        }
+    }
+
+    public synchronized int availablePermits() {
+        return this.available;
+    }
+
+    public synchronized int queueLength() {
+        return this.waiters.size();
+    }
+
+    public int maxPermits() {
+        return this.maxPermits;
+    }
+
+}
@@ -0,0 +1,142 @@
+package eu.cafestube.cloudnet.resilience;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Consecutive-failure circuit breaker. Once {@link CircuitBreakerSettings#failureThreshold()} calls failed in a row
+ * it opens and rejects calls until {@link CircuitBreakerSettings#openDuration()} passed, then lets a limited number
+ * of probe calls through. A successful probe closes it again, a failed one re-opens it.
+ * <p>
+ * Every permitted call has to be finished with exactly one of {@link #onSuccess()}, {@link #onFailure()} or
+ * {@link #release()}.
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final @Nullable CircuitBreakerSettings settings;
+    private final List<Consumer<State>> listeners = new CopyOnWriteArrayList<>();
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private int probesInFlight;
+
+    private CircuitBreaker(@Nullable CircuitBreakerSettings settings) {
+        this.settings = settings;
+    }
+
+    public static @NotNull CircuitBreaker create(@Nullable CircuitBreakerSettings settings) {
+        return new CircuitBreaker(settings);
+    }
+
+    public static @NotNull CircuitBreaker disabled() {
+        return new CircuitBreaker(null);
+    }
+
+    public boolean tryAcquire() {
+        if (this.settings == null) {
+            return true;
+        }
+
+        State changed = null;
+        boolean permitted;
+        synchronized (this) {
+            if (this.state == State.OPEN && System.nanoTime() - this.openedAt >= this.settings.openDuration().toNanos()) {
+                changed = transition(State.HALF_OPEN);
+            }
+
+            if (this.state == State.HALF_OPEN) {
+                permitted = this.probesInFlight < this.settings.halfOpenProbes();
+                if (permitted) {
+                    this.probesInFlight++;
+                }
+            } else {
+                permitted = this.state == State.CLOSED;
+            }
+        }
+
+        notifyListeners(changed);
+        return permitted;
+    }
+
+    public void onSuccess() {
+        if (this.settings == null) {
+            return;
+        }
+
+        State changed;
+        synchronized (this) {
+            this.consecutiveFailures = 0;
+            this.probesInFlight = Math.max(0, this.probesInFlight - 1);
+            changed = this.state == State.HALF_OPEN ? transition(State.CLOSED) : null;
+        }
+        notifyListeners(changed);
+    }
+
+    public void onFailure() {
+        if (this.settings == null) {
+            return;
+        }
+
+        State changed = null;
+        synchronized (this) {
+            this.consecutiveFailures++;
+            this.probesInFlight = Math.max(0, this.probesInFlight - 1);
+            if (this.state == State.HALF_OPEN
+                    || (this.state == State.CLOSED && this.consecutiveFailures >= this.settings.failureThreshold())) {
+                changed = transition(State.OPEN);
+            }
+        }
+        notifyListeners(changed);
+    }
+
+    public synchronized void release() {
+        this.probesInFlight = Math.max(0, this.probesInFlight - 1);
+    }
+
+    public synchronized @NotNull State state() {
+        return this.state;
+    }
+
+    public synchronized int consecutiveFailures() {
+        return this.consecutiveFailures;
+    }
+
+    public boolean isEnabled() {
+        return this.settings != null;
+    }
+
+    public void addListener(@NotNull Consumer<State> listener) {
+        this.listeners.add(listener);
+    }
+
+    private State transition(State target) {
+        if (this.state == target) {
+            return null;
+        }
+
+        this.state = target;
+        this.probesInFlight = 0;
+        if (target == State.OPEN) {
+            this.openedAt = System.nanoTime();
+        }
+        return target;
+    }
+
+    private void notifyListeners(@Nullable State changed) {
+        if (changed != null) {
+            for (Consumer<State> listener : this.listeners) {
+                listener.accept(changed);
+            }
+        }
+    }
+
+}
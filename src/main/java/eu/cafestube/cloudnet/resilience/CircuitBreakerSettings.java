@@ -0,0 +1,24 @@
+package eu.cafestube.cloudnet.resilience;
+
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+
+public record CircuitBreakerSettings(
+        int failureThreshold,
+        @NotNull Duration openDuration,
+        int halfOpenProbes
+) {
+
+    public CircuitBreakerSettings {
+        Preconditions.checkArgument(failureThreshold > 0, "failureThreshold must be positive");
+        Preconditions.checkArgument(!openDuration.isNegative(), "openDuration must not be negative");
+        Preconditions.checkArgument(halfOpenProbes > 0, "halfOpenProbes must be positive");
+    }
+
+    public static @NotNull CircuitBreakerSettings defaults() {
+        return new CircuitBreakerSettings(5, Duration.ofSeconds(10), 1);
+    }
+
+}
@@ -0,0 +1,48 @@
+package eu.cafestube.cloudnet.resilience;
+
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+public record RetryPolicy(
+        int maxAttempts,
+        @NotNull Duration initialBackoff,
+        @NotNull Duration maxBackoff,
+        double multiplier,
+        double jitter
+) {
+
+    private static final RetryPolicy NONE = new RetryPolicy(1, Duration.ZERO, Duration.ZERO, 1, 0);
+
+    public RetryPolicy {
+        Preconditions.checkArgument(maxAttempts >= 1, "maxAttempts must be at least 1");
+        Preconditions.checkArgument(multiplier >= 1, "multiplier must be at least 1");
+        Preconditions.checkArgument(jitter >= 0 && jitter <= 1, "jitter must be between 0 and 1");
+    }
+
+    public static @NotNull RetryPolicy none() {
+        return NONE;
+    }
+
+    public static @NotNull RetryPolicy defaults() {
+        return new RetryPolicy(3, Duration.ofMillis(200), Duration.ofSeconds(5), 2, 0.5);
+    }
+
+    public boolean canRetry(int attempt) {
+        return attempt < this.maxAttempts;
+    }
+
+    /**
+     * Backoff before the attempt following {@code attempt}, grown exponentially and shortened by a random share of
+     * up to {@code jitter} so clients recovering at the same time don't retry in lockstep.
+     */
+    public @NotNull Duration backoff(int attempt) {
+        double base = this.initialBackoff.toMillis() * Math.pow(this.multiplier, attempt - 1);
+        double capped = Math.min(base, this.maxBackoff.toMillis());
+        double jittered = capped * (1 - this.jitter * ThreadLocalRandom.current().nextDouble());
+        return Duration.ofMillis(Math.round(jittered));
+    }
+
+}
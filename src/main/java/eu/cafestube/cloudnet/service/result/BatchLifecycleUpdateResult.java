@@ -0,0 +1,27 @@
+package eu.cafestube.cloudnet.service.result;
+
+import eu.cafestube.cloudnet.service.LifecycleUpdate;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.List;
+
+public record BatchLifecycleUpdateResult(
+        @NotNull LifecycleUpdate update,
+        @NotNull List<LifecycleUpdateResult> results,
+        @NotNull Duration totalDuration
+) {
+
+    public long successCount() {
+        return this.results.stream().filter(LifecycleUpdateResult::isSuccess).count();
+    }
+
+    public @NotNull List<LifecycleUpdateResult> failures() {
+        return this.results.stream().filter(result -> !result.isSuccess()).toList();
+    }
+
+    public boolean isSuccess() {
+        return this.results.stream().allMatch(LifecycleUpdateResult::isSuccess);
+    }
+
+}
@@ -0,0 +1,20 @@
+package eu.cafestube.cloudnet.service.result;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.UUID;
+
+public record LifecycleUpdateResult(
+        @NotNull UUID serviceId,
+        int statusCode,
+        @NotNull Duration latency,
+        @Nullable Throwable error
+) {
+
+    public boolean isSuccess() {
+        return this.error == null && this.statusCode >= 200 && this.statusCode < 300;
+    }
+
+}
@@ -0,0 +1,167 @@
+package eu.cafestube.cloudnet.service.status;
+
+import com.google.common.base.Suppliers;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import eu.cafestube.cloudnet.json.RawJson;
+import eu.cafestube.cloudnet.service.HostAndPort;
+import eu.cafestube.cloudnet.service.ServiceConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+/**
+ * A {@link ServiceInfoSnapshot} whose heavy members, the configuration, the process snapshot with its thread list
+ * and the properties, are kept as raw JSON and only bound on first access. Scalars are read eagerly.
+ */
+@JsonAdapter(LazyServiceInfoSnapshot.AdapterFactory.class)
+public final class LazyServiceInfoSnapshot {
+
+    private final long creationTime;
+    private final long connectedTime;
+    private final @Nullable HostAndPort address;
+    private final @Nullable ServiceLifeCycle lifeCycle;
+
+    private final Supplier<ServiceConfiguration> configuration;
+    private final Supplier<ProcessSnapshot> processSnapshot;
+    private final Supplier<JsonObject> properties;
+
+    private LazyServiceInfoSnapshot(long creationTime, long connectedTime, @Nullable HostAndPort address,
+                                    @Nullable ServiceLifeCycle lifeCycle, Supplier<ServiceConfiguration> configuration,
+                                    Supplier<ProcessSnapshot> processSnapshot, Supplier<JsonObject> properties) {
+        this.creationTime = creationTime;
+        this.connectedTime = connectedTime;
+        this.address = address;
+        this.lifeCycle = lifeCycle;
+        this.configuration = configuration;
+        this.processSnapshot = processSnapshot;
+        this.properties = properties;
+    }
+
+    public long creationTime() {
+        return this.creationTime;
+    }
+
+    public long connectedTime() {
+        return this.connectedTime;
+    }
+
+    public @Nullable HostAndPort address() {
+        return this.address;
+    }
+
+    public @Nullable ServiceLifeCycle lifeCycle() {
+        return this.lifeCycle;
+    }
+
+    public @Nullable ServiceConfiguration configuration() {
+        return this.configuration.get();
+    }
+
+    public @Nullable ProcessSnapshot processSnapshot() {
+        return this.processSnapshot.get();
+    }
+
+    public @Nullable JsonObject properties() {
+        return this.properties.get();
+    }
+
+    /**
+     * Binds every remaining member and returns the equivalent eager snapshot.
+     */
+    public @NotNull ServiceInfoSnapshot toSnapshot() {
+        return new ServiceInfoSnapshot(this.creationTime, this.address, configuration(), this.connectedTime,
+                processSnapshot(), this.lifeCycle, properties());
+    }
+
+    private static <T> Supplier<T> lazy(Gson gson, @Nullable String json, Class<T> type) {
+        if (json == null) {
+            return () -> null;
+        }
+        return Suppliers.memoize(() -> gson.fromJson(json, type));
+    }
+
+    static final class AdapterFactory implements TypeAdapterFactory {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (type.getRawType() != LazyServiceInfoSnapshot.class) {
+                return null;
+            }
+            return (TypeAdapter<T>) new Adapter(gson);
+        }
+
+    }
+
+    private static final class Adapter extends TypeAdapter<LazyServiceInfoSnapshot> {
+
+        private final Gson gson;
+        private final TypeAdapter<HostAndPort> addressAdapter;
+        private final TypeAdapter<ServiceLifeCycle> lifeCycleAdapter;
+
+        private Adapter(Gson gson) {
+            this.gson = gson;
+            this.addressAdapter = gson.getAdapter(HostAndPort.class);
+            this.lifeCycleAdapter = gson.getAdapter(ServiceLifeCycle.class);
+        }
+
+        @Override
+        public LazyServiceInfoSnapshot read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            long creationTime = 0;
+            long connectedTime = 0;
+            HostAndPort address = null;
+            ServiceLifeCycle lifeCycle = null;
+            String configuration = null;
+            String processSnapshot = null;
+            String properties = null;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+
+                switch (name) {
+                    case "creationTime" -> creationTime = in.nextLong();
+                    case "connectedTime" -> connectedTime = in.nextLong();
+                    case "address" -> address = this.addressAdapter.read(in);
+                    case "lifeCycle" -> lifeCycle = this.lifeCycleAdapter.read(in);
+                    case "configuration" -> configuration = RawJson.capture(in);
+                    case "processSnapshot" -> processSnapshot = RawJson.capture(in);
+                    case "properties" -> properties = RawJson.capture(in);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new LazyServiceInfoSnapshot(creationTime, connectedTime, address, lifeCycle,
+                    lazy(this.gson, configuration, ServiceConfiguration.class),
+                    lazy(this.gson, processSnapshot, ProcessSnapshot.class),
+                    lazy(this.gson, properties, JsonObject.class));
+        }
+
+        @Override
+        public void write(JsonWriter out, LazyServiceInfoSnapshot value) throws IOException {
+            this.gson.toJson(value == null ? null : value.toSnapshot(), ServiceInfoSnapshot.class, out);
+        }
+
+    }
+
+}
@@ -0,0 +1,90 @@
+package eu.cafestube.cloudnet.service.status;
+
+import com.google.common.base.Splitter;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import eu.cafestube.cloudnet.json.JsonProjection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A projection of {@link ServiceInfoSnapshot#properties()} holding only the requested keys. Keys may address nested
+ * values with dots, e.g. {@code "Motd"} or {@code "players.online"}.
+ */
+public record ServiceProperties(
+        @Nullable UUID serviceId,
+        @NotNull Map<String, JsonElement> properties
+) {
+
+    private static final Object SERVICE_ID = new Object();
+    private static final List<String> SERVICE_ID_PATH = List.of("configuration", "serviceId", "uniqueId");
+    private static final Splitter KEY_SPLITTER = Splitter.on('.');
+
+    public @Nullable JsonElement get(@NotNull String key) {
+        return this.properties.get(key);
+    }
+
+    public boolean has(@NotNull String key) {
+        return this.properties.containsKey(key);
+    }
+
+    /**
+     * Reads {@link ServiceProperties} from a serialized {@link ServiceInfoSnapshot}, skipping everything but the
+     * service id and the given keys. Writing produces a partial snapshot holding only those values at their original
+     * paths, which reads back into equal {@link ServiceProperties}.
+     */
+    public static @NotNull TypeAdapter<ServiceProperties> adapter(@NotNull Collection<String> keys) {
+        Map<Object, List<String>> paths = new HashMap<>();
+        paths.put(SERVICE_ID, SERVICE_ID_PATH);
+        for (String key : keys) {
+            List<String> path = new ArrayList<>();
+            path.add("properties");
+            KEY_SPLITTER.split(key).forEach(path::add);
+            paths.put(key, path);
+        }
+
+        JsonProjection<Object> projection = JsonProjection.of(paths);
+        return new TypeAdapter<>() {
+            @Override
+            public ServiceProperties read(JsonReader in) throws IOException {
+                Map<Object, JsonElement> values = projection.read(in);
+                if (values == null) {
+                    return null;
+                }
+
+                JsonElement serviceId = values.remove(SERVICE_ID);
+                Map<String, JsonElement> properties = new HashMap<>(values.size());
+                values.forEach((key, value) -> properties.put((String) key, value));
+                return new ServiceProperties(
+                        serviceId == null || !serviceId.isJsonPrimitive() ? null : UUID.fromString(serviceId.getAsString()),
+                        Map.copyOf(properties));
+            }
+
+            @Override
+            public void write(JsonWriter out, ServiceProperties value) throws IOException {
+                if (value == null) {
+                    out.nullValue();
+                    return;
+                }
+
+                Map<Object, JsonElement> values = new HashMap<>(value.properties());
+                if (value.serviceId() != null) {
+                    values.put(SERVICE_ID, new JsonPrimitive(value.serviceId().toString()));
+                }
+                projection.write(out, values);
+            }
+        };
+    }
+
+}
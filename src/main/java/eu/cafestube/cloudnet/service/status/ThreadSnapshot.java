@@ -2,7 +2,7 @@ package eu.cafestube.cloudnet.service.status;
 
 import org.jetbrains.annotations.NotNull;
 
-record ThreadSnapshot(
+public record ThreadSnapshot(
         long id,
         int priority,
         boolean daemon,
@@ -0,0 +1,63 @@
+package eu.cafestube.cloudnet.template;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Flow;
+
+/**
+ * Publishes the body of another publisher unchanged while reporting every chunk handed to the HTTP client.
+ */
+public final class ProgressBodyPublisher implements HttpRequest.BodyPublisher {
+
+    private final HttpRequest.BodyPublisher delegate;
+    private final TransferProgress progress;
+
+    private ProgressBodyPublisher(HttpRequest.BodyPublisher delegate, TransferProgress progress) {
+        this.delegate = delegate;
+        this.progress = progress;
+    }
+
+    public static @NotNull HttpRequest.BodyPublisher wrap(@NotNull HttpRequest.BodyPublisher publisher, @NotNull TransferProgress progress) {
+        return new ProgressBodyPublisher(publisher, progress);
+    }
+
+    @Override
+    public long contentLength() {
+        return this.delegate.contentLength();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        long total = this.delegate.contentLength();
+        this.delegate.subscribe(new Flow.Subscriber<>() {
+
+            // a retried request subscribes again, so every subscription counts from zero
+            private long transferred;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscriber.onSubscribe(subscription);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                this.transferred += item.remaining();
+                subscriber.onNext(item);
+                progress.onProgress(this.transferred, total);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                subscriber.onError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                subscriber.onComplete();
+            }
+        });
+    }
+
+}
@@ -0,0 +1,77 @@
+package eu.cafestube.cloudnet.template;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Passes the body through unchanged while reporting every received chunk to a {@link TransferProgress}.
+ */
+public final class ProgressBodySubscriber<T> implements HttpResponse.BodySubscriber<T> {
+
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d+)-\\d+/(\\d+|\\*)");
+
+    private final HttpResponse.BodySubscriber<T> delegate;
+    private final TransferProgress progress;
+    private final long total;
+    private long transferred;
+
+    private ProgressBodySubscriber(HttpResponse.BodySubscriber<T> delegate, TransferProgress progress, long offset, long total) {
+        this.delegate = delegate;
+        this.progress = progress;
+        this.transferred = offset;
+        this.total = total;
+    }
+
+    public static <T> @NotNull HttpResponse.BodyHandler<T> wrap(@NotNull HttpResponse.BodyHandler<T> handler, @NotNull TransferProgress progress) {
+        return responseInfo -> {
+            HttpHeaders headers = responseInfo.headers();
+            long length = headers.firstValueAsLong("Content-Length").orElse(-1);
+
+            Matcher range = CONTENT_RANGE.matcher(headers.firstValue("Content-Range").orElse(""));
+            if (responseInfo.statusCode() == 206 && range.matches()) {
+                long offset = Long.parseLong(range.group(1));
+                long total = range.group(2).equals("*") ? -1 : Long.parseLong(range.group(2));
+                return new ProgressBodySubscriber<>(handler.apply(responseInfo), progress, offset, total);
+            }
+            return new ProgressBodySubscriber<>(handler.apply(responseInfo), progress, 0, length);
+        };
+    }
+
+    @Override
+    public CompletionStage<T> getBody() {
+        return this.delegate.getBody();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.delegate.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> items) {
+        for (ByteBuffer item : items) {
+            this.transferred += item.remaining();
+        }
+        this.delegate.onNext(items);
+        this.progress.onProgress(this.transferred, this.total);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        this.delegate.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        this.delegate.onComplete();
+    }
+
+}
@@ -0,0 +1,15 @@
+package eu.cafestube.cloudnet.template;
+
+import org.jetbrains.annotations.NotNull;
+
+public record TemplateFile(
+        @NotNull String path,
+        @NotNull String name,
+        boolean directory,
+        boolean hidden,
+        long creationTime,
+        long lastModified,
+        long lastAccess,
+        long size
+) {
+}
@@ -0,0 +1,12 @@
+package eu.cafestube.cloudnet.template;
+
+@FunctionalInterface
+public interface TransferProgress {
+
+    /**
+     * Called from the HTTP client's threads whenever another chunk was transferred. {@code total} is {@code -1} if
+     * the size isn't known upfront. Resumed downloads start counting at the resumed offset.
+     */
+    void onProgress(long transferred, long total);
+
+}
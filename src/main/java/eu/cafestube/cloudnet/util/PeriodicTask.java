@@ -0,0 +1,64 @@
+package eu.cafestube.cloudnet.util;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs an action with a fixed delay, either on a given scheduler, which is left running on {@link #close()}, or on an
+ * own single daemon thread that is shut down with the task.
+ */
+public final class PeriodicTask implements AutoCloseable {
+
+    private final Runnable action;
+    private final Duration interval;
+    private final ScheduledExecutorService scheduler;
+    private final boolean ownsScheduler;
+
+    private ScheduledFuture<?> schedule;
+
+    /**
+     * @param threadNameFormat name format of the own thread, used if no {@code scheduler} is given
+     */
+    public PeriodicTask(@NotNull Runnable action, @NotNull Duration interval,
+                        @Nullable ScheduledExecutorService scheduler, @NotNull String threadNameFormat) {
+        this.action = action;
+        this.interval = interval;
+        this.ownsScheduler = scheduler == null;
+        this.scheduler = this.ownsScheduler
+                ? Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                        .setNameFormat(threadNameFormat).setDaemon(true).build())
+                : scheduler;
+    }
+
+    public synchronized boolean isStarted() {
+        return this.schedule != null;
+    }
+
+    /**
+     * Runs the action right away and then every {@code interval} after the previous run finished.
+     */
+    public synchronized void start() {
+        Preconditions.checkState(this.schedule == null, "Task already started");
+        this.schedule = this.scheduler.scheduleWithFixedDelay(this.action, 0, this.interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (this.schedule != null) {
+            this.schedule.cancel(false);
+        }
+        if (this.ownsScheduler) {
+            this.scheduler.shutdown();
+        }
+    }
+
+}
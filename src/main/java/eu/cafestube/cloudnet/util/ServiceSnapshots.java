@@ -0,0 +1,57 @@
+package eu.cafestube.cloudnet.util;
+
+import eu.cafestube.cloudnet.service.result.ServiceCreateResult;
+import eu.cafestube.cloudnet.service.status.ServiceInfoSnapshot;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Small accessors on service snapshots shared by the components managing services.
+ */
+public final class ServiceSnapshots {
+
+    private ServiceSnapshots() {
+    }
+
+    public static @NotNull UUID idOf(@NotNull ServiceInfoSnapshot snapshot) {
+        return snapshot.configuration().serviceId().uniqueId();
+    }
+
+    public static @NotNull String taskOf(@NotNull ServiceInfoSnapshot snapshot) {
+        return snapshot.configuration().serviceId().taskName();
+    }
+
+    public static @Nullable String nodeOf(@NotNull ServiceInfoSnapshot snapshot) {
+        return snapshot.configuration().serviceId().nodeUniqueId();
+    }
+
+    public static @NotNull List<UUID> idsOf(@NotNull Collection<ServiceInfoSnapshot> snapshots) {
+        return snapshots.stream().map(ServiceSnapshots::idOf).toList();
+    }
+
+    /**
+     * Whether the result carries a service that was actually created.
+     */
+    public static boolean isCreated(@NotNull ServiceCreateResult result) {
+        return result.serviceInfo() != null && result.state() != ServiceCreateResult.State.FAILED;
+    }
+
+    /**
+     * The services of all results that were created, failed creations are left out.
+     */
+    public static @NotNull List<ServiceInfoSnapshot> created(@NotNull Collection<ServiceCreateResult> results) {
+        List<ServiceInfoSnapshot> created = new ArrayList<>(results.size());
+        for (ServiceCreateResult result : results) {
+            if (isCreated(result)) {
+                created.add(result.serviceInfo());
+            }
+        }
+        return created;
+    }
+
+}